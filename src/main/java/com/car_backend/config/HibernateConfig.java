@@ -0,0 +1,26 @@
+package com.car_backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+	@Value("${hibernate.jdbc.batch-size:50}")
+	private int batchSize;
+
+	// groups inserts/updates of the same entity into JDBC batches on flush (job card
+	// items, evidences). entities with IDENTITY ids are still inserted one by one,
+	// since Hibernate needs each generated key back before the next insert.
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+		return properties -> {
+			properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+			properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+			properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+		};
+	}
+}
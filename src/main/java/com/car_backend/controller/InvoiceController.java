@@ -1,17 +1,29 @@
 package com.car_backend.controller;
 
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.car_backend.dto.invoice.InvoiceExportDto;
+import com.car_backend.dto.invoice.InvoiceExportFormat;
+import com.car_backend.dto.invoice.InvoicePdfDto;
 import com.car_backend.dto.invoice.PaymentVerificationResponseDto;
 import com.car_backend.dto.invoice.VerifyPaymentRequestDto;
 import com.car_backend.entities.PaymentStatus;
+import com.car_backend.service.InvoiceExportService;
 import com.car_backend.service.InvoiceService;
 
 import jakarta.validation.Valid;
@@ -25,6 +37,7 @@ import lombok.extern.slf4j.Slf4j;
 
 public class InvoiceController {
 	private final InvoiceService invoiceService;
+	private final InvoiceExportService invoiceExportService;
 
 	// ------------------Invoice Generation-------------------
 
@@ -90,14 +103,60 @@ public class InvoiceController {
 	}
 
 	@GetMapping("/{id}/download")
-	public ResponseEntity<byte[]> downloadInvoice(@PathVariable Long id) {
-		byte[] pdf = invoiceService.getInvoicePdf(id);
+	public ResponseEntity<StreamingResponseBody> downloadInvoice(@PathVariable Long id, WebRequest request) {
+		InvoicePdfDto pdf = invoiceService.getInvoicePdf(id);
+
+		// the render fingerprint is the ETag, so a client holding the current copy gets a 304
+		if (request.checkNotModified(pdf.getFingerprint())) {
+			pdf.discard();
+			return null;
+		}
 
 		org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
 		headers.setContentType(org.springframework.http.MediaType.APPLICATION_PDF);
 		headers.setContentDispositionFormData("attachment", "invoice_" + id + ".pdf");
+		headers.setETag("\"" + pdf.getFingerprint() + "\"");
+		headers.setCacheControl(CacheControl.noCache().cachePrivate());
+		if (pdf.getContentLength() != null) {
+			headers.setContentLength(pdf.getContentLength());
+		}
+
+		StreamingResponseBody body = pdf.getContent()::writeTo;
+		return new ResponseEntity<>(body, headers, org.springframework.http.HttpStatus.OK);
+	}
+
+	// ------------------Bulk Export-------------------
+
+	// streams every matching invoice as one zip or one merged pdf. the X-Export-Id
+	// header can be polled on /export/{exportId}/progress while the download runs
+	@PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportInvoices(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) PaymentStatus status,
+			@RequestParam(defaultValue = "ZIP") InvoiceExportFormat format) {
+		InvoiceExportDto export = invoiceExportService.startExport(from, to, status, format);
+
+		org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
+		if (format == InvoiceExportFormat.PDF) {
+			headers.setContentType(org.springframework.http.MediaType.APPLICATION_PDF);
+			headers.setContentDispositionFormData("attachment", "invoices_" + export.getExportId() + ".pdf");
+		} else {
+			headers.setContentType(org.springframework.http.MediaType.parseMediaType("application/zip"));
+			headers.setContentDispositionFormData("attachment", "invoices_" + export.getExportId() + ".zip");
+		}
+		headers.set("X-Export-Id", export.getExportId());
+		headers.set("X-Export-Count", String.valueOf(export.getInvoiceCount()));
+
+		StreamingResponseBody body = export.getContent()::writeTo;
+		return new ResponseEntity<>(body, headers, HttpStatus.OK);
+	}
 
-		return new ResponseEntity<>(pdf, headers, org.springframework.http.HttpStatus.OK);
+	@PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+	@GetMapping("/export/{exportId}/progress")
+	public ResponseEntity<?> getExportProgress(@PathVariable String exportId) {
+		return ResponseEntity.ok(invoiceExportService.getProgress(exportId));
 	}
 
 	// -------------------Statistice-----------------------
@@ -1,8 +1,5 @@
 package com.car_backend.controller;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,6 +9,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.car_backend.dto.jobCard.AddItemToJobCardDto;
@@ -20,10 +18,9 @@ import com.car_backend.dto.jobCard.CancelJobCardDto;
 import com.car_backend.dto.jobCard.CreateJobCardDto;
 import com.car_backend.dto.jobCard.JobCardEvidenceDto;
 import com.car_backend.dto.jobCard.JobCardResponseDto;
-import com.car_backend.dto.jobCard.ManagerDashboardDto;
-import com.car_backend.dto.jobCard.MechanicDashboardDto;
 import com.car_backend.dto.jobCard.MechanicWorkloadDto;
 import com.car_backend.entities.JobCardStatus;
+import com.car_backend.service.DashboardService;
 import com.car_backend.service.JobCardService;
 
 import jakarta.validation.Valid;
@@ -37,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 
 public class JobCardController {
 	private final JobCardService jobCardService;
+	private final DashboardService dashboardService;
 
 	// -----------------------jobcard management-----------------------
 
@@ -56,9 +54,20 @@ public class JobCardController {
 
 	}
 
+	// list endpoints return the full list unless ?limit= or ?cursor= is passed, in
+	// which case they return one keyset page ordered by creation time (?sort=asc|desc).
+	// ?view=summary swaps the full job card for a narrow JobCardSummaryDto row.
 	@PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
 	@GetMapping
-	public ResponseEntity<?> getAllJobCards() {
+	public ResponseEntity<?> getAllJobCards(@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) String sort,
+			@RequestParam(required = false) String view) {
+		if (isSummaryView(view)) {
+			return summaries(null, null, null, limit, cursor, sort);
+		}
+		if (limit != null || cursor != null) {
+			return ResponseEntity.ok(jobCardService.getJobCardPage(limit, cursor, sort));
+		}
 		return ResponseEntity.ok(jobCardService.getAllJobCards());
 	}
 
@@ -148,19 +157,43 @@ public class JobCardController {
 
 	@PreAuthorize("hasRole('ADMIN')")
 	@GetMapping("/manager/{managerId}")
-	public ResponseEntity<?> getJobCardsByManager(@PathVariable Long managerId) {
+	public ResponseEntity<?> getJobCardsByManager(@PathVariable Long managerId,
+			@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+			@RequestParam(required = false) String sort, @RequestParam(required = false) String view) {
+		if (isSummaryView(view)) {
+			return summaries(managerId, null, null, limit, cursor, sort);
+		}
+		if (limit != null || cursor != null) {
+			return ResponseEntity.ok(jobCardService.getJobCardPageByManager(managerId, limit, cursor, sort));
+		}
 		return ResponseEntity.ok(jobCardService.getJobCardByManager(managerId));
 	}
 
 	@PreAuthorize("hasAnyRole('MANAGER','ADMIN','MECHANIC')")
 	@GetMapping("/mechanic/{mechanicId}")
-	public ResponseEntity<?> getJobCardByMechanic(@PathVariable Long mechanicId) {
+	public ResponseEntity<?> getJobCardByMechanic(@PathVariable Long mechanicId,
+			@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+			@RequestParam(required = false) String sort, @RequestParam(required = false) String view) {
+		if (isSummaryView(view)) {
+			return summaries(null, mechanicId, null, limit, cursor, sort);
+		}
+		if (limit != null || cursor != null) {
+			return ResponseEntity.ok(jobCardService.getJobCardPageByMechanic(mechanicId, limit, cursor, sort));
+		}
 		return ResponseEntity.ok(jobCardService.getJobCardByMechanic(mechanicId));
 	}
 
 	@PreAuthorize("hasAnyRole('MANAGER','ADMIN','MECHANIC')")
 	@GetMapping("/status/{status}")
-	public ResponseEntity<?> getJobCardsByStatus(@PathVariable JobCardStatus status) {
+	public ResponseEntity<?> getJobCardsByStatus(@PathVariable JobCardStatus status,
+			@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+			@RequestParam(required = false) String sort, @RequestParam(required = false) String view) {
+		if (isSummaryView(view)) {
+			return summaries(null, null, status, limit, cursor, sort);
+		}
+		if (limit != null || cursor != null) {
+			return ResponseEntity.ok(jobCardService.getJobCardPageByStatus(status, limit, cursor, sort));
+		}
 		return ResponseEntity.ok(jobCardService.getJobCardByStatus(status));
 	}
 
@@ -178,6 +211,19 @@ public class JobCardController {
 		return ResponseEntity.ok(jobCardService.getMechanicJobCardsByStatus(mechanicId, status));
 	}
 
+	private boolean isSummaryView(String view) {
+		return "summary".equalsIgnoreCase(view);
+	}
+
+	private ResponseEntity<?> summaries(Long managerId, Long mechanicId, JobCardStatus status, Integer limit,
+			String cursor, String sort) {
+		if (limit != null || cursor != null) {
+			return ResponseEntity
+					.ok(jobCardService.getJobCardSummaryPage(managerId, mechanicId, status, limit, cursor, sort));
+		}
+		return ResponseEntity.ok(jobCardService.getJobCardSummaries(managerId, mechanicId, status));
+	}
+
 	// -----------------------Statistics Endpoints--------------------------
 
 	@PreAuthorize("hasRole('ADMIN')")
@@ -214,42 +260,13 @@ public class JobCardController {
 	@PreAuthorize("hasRole('MANAGER')")
 	@GetMapping("/dashboard/manager/{managerId}")
 	public ResponseEntity<?> getManagerDashboard(@PathVariable Long managerId) {
-		Long totalJobs = jobCardService.getManagerJobCardCount(managerId);
-		Long inProgress = (long) jobCardService.getManagerJobCardsByStatus(managerId, JobCardStatus.IN_PROGRESS).size();
-		Long completed = jobCardService.countManagerJobCardByStatus(managerId, JobCardStatus.COMPLETED);
-		List<JobCardResponseDto> recentJobs = jobCardService.getJobCardByManager(managerId)
-				.stream()
-				.limit(5)
-				.collect(Collectors.toList());
-
-		ManagerDashboardDto dashboard = ManagerDashboardDto.builder()
-				.totalJobCards(totalJobs)
-				.inProgressJobCards(inProgress)
-				.completedJobCards(completed)
-				.recentJobCards(recentJobs)
-				.build();
-
-		return ResponseEntity.ok(dashboard);
+		return ResponseEntity.ok(dashboardService.getManagerDashboard(managerId));
 	}
 
 	@PreAuthorize("hasRole('MECHANIC')")
 	@GetMapping("/dashboard/mechanic/{mechanicId}")
 	public ResponseEntity<?> getMechanicDashboard(@PathVariable Long mechanicId) {
-		Long totalJobs = jobCardService.getMechanicJobCardCount(mechanicId);
-		List<JobCardResponseDto> assignedJobs = jobCardService.getMechanicJobCardsByStatus(mechanicId,
-				JobCardStatus.CREATED);
-		List<JobCardResponseDto> inProgress = jobCardService.getMechanicJobCardsByStatus(mechanicId,
-				JobCardStatus.IN_PROGRESS);
-		Long completedJobs = jobCardService.countMechanicJobCardByStatus(mechanicId, JobCardStatus.COMPLETED);
-
-		MechanicDashboardDto dashboard = MechanicDashboardDto.builder()
-				.totalJobCards(totalJobs)
-				.assignedJobCards(assignedJobs)
-				.inProgressJobCards(inProgress)
-				.completedJobCards(completedJobs)
-				.build();
-
-		return ResponseEntity.ok(dashboard);
+		return ResponseEntity.ok(dashboardService.getMechanicDashboard(mechanicId));
 	}
 
 	@PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
@@ -0,0 +1,30 @@
+package com.car_backend.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.car_backend.dto.ApiResponse;
+import com.car_backend.service.StatsCounterService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@Slf4j
+
+public class StatsController {
+	private final StatsCounterService statsCounterService;
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/rebuild")
+	public ResponseEntity<?> rebuildCounters() {
+		log.info("in rebuild stats counters controller.");
+		statsCounterService.rebuild();
+		return ResponseEntity.ok(new ApiResponse("stats counters rebuilt.", "success"));
+	}
+}
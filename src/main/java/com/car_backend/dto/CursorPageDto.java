@@ -0,0 +1,17 @@
+package com.car_backend.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CursorPageDto<T> {
+	private List<T> items;
+	// opaque token to pass back as ?cursor= for the next page, null on the last page
+	private String nextCursor;
+	private boolean hasMore;
+	private int limit;
+	private String sort;
+}
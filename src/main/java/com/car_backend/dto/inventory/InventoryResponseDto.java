@@ -13,6 +13,8 @@ public class InventoryResponseDto {
 	private String skuCode;
 	private Double currentPrice;
 	private Integer stockQuantity;
+	// stock minus quantities held by open job cards
+	private Integer availableQuantity;
 	private boolean deleted;
 	private Integer version;
 	
@@ -0,0 +1,14 @@
+package com.car_backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InvoiceExportDto {
+	private String exportId;
+	private InvoiceExportFormat format;
+	private int invoiceCount;
+	// renders and writes the archive when the response is streamed
+	private InvoicePdfDto.Content content;
+}
@@ -0,0 +1,8 @@
+package com.car_backend.dto.invoice;
+
+public enum InvoiceExportFormat {
+	// one pdf per invoice in a zip archive
+	ZIP,
+	// all invoices merged into a single pdf
+	PDF
+}
@@ -0,0 +1,22 @@
+package com.car_backend.dto.invoice;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class InvoiceExportProgressDto {
+	private String exportId;
+	private InvoiceExportFormat format;
+	private Status status;
+	private int totalInvoices;
+	private int exportedInvoices;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+
+	public enum Status {
+		PENDING, RUNNING, COMPLETED, FAILED
+	}
+}
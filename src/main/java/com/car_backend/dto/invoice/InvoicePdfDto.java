@@ -0,0 +1,38 @@
+package com.car_backend.dto.invoice;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InvoicePdfDto {
+	// render fingerprint of the document, used as its ETag
+	private String fingerprint;
+	// known when the document comes from the cache, null while it is rendered on the fly
+	private Long contentLength;
+	private Content content;
+	// cache file opened for the content, null when the document is rendered on the fly
+	private Closeable resource;
+
+	// the content will not be sent (e.g. the client's copy is current)
+	public void discard() {
+		if (resource == null) {
+			return;
+		}
+		try {
+			resource.close();
+		} catch (IOException e) {
+			// nothing was read from it
+		}
+	}
+
+	// writes the document to the response; the document is never held in memory as a whole
+	@FunctionalInterface
+	public interface Content {
+		void writeTo(OutputStream out) throws IOException;
+	}
+}
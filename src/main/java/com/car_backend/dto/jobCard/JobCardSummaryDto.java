@@ -0,0 +1,23 @@
+package com.car_backend.dto.jobCard;
+
+import java.time.LocalDateTime;
+
+import com.car_backend.entities.JobCardStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// narrow row for list screens, built directly by JobCardRepository summary queries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCardSummaryDto {
+	private Long id;
+	private JobCardStatus status;
+	private String licensePlate;
+	private String customerName;
+	private String mechanicName;
+	private Double totalAmount;
+	private LocalDateTime createdAt;
+}
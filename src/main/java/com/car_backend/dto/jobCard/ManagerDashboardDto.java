@@ -1,6 +1,9 @@
 package com.car_backend.dto.jobCard;
 
 import java.util.List;
+import java.util.Map;
+
+import com.car_backend.entities.JobCardStatus;
 
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +14,7 @@ public class ManagerDashboardDto {
 	private Long totalJobCards;
 	private Long inProgressJobCards;
 	private Long completedJobCards;
+	private Map<JobCardStatus, Long> statusCounts;
 	private List<JobCardResponseDto> recentJobCards;
 	
 }
@@ -1,6 +1,9 @@
 package com.car_backend.dto.jobCard;
 
 import java.util.List;
+import java.util.Map;
+
+import com.car_backend.entities.JobCardStatus;
 
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +16,5 @@ public class MechanicDashboardDto {
 	private List<JobCardResponseDto> assignedJobCards;
 	private List<JobCardResponseDto> inProgressJobCards;
 	private Long completedJobCards;
+	private Map<JobCardStatus, Long> statusCounts;
 }
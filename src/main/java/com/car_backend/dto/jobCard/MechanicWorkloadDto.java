@@ -14,4 +14,9 @@ public class MechanicWorkloadDto {
     private String mechanicName;
     private long activeJobs;
     private long totalJobs;
+    private long createdJobs;
+    private long completedJobs;
+    // start of work to completion, completed cards only. cards started before
+    // startTime was recorded fall back to their creation time
+    private Double avgCompletionMinutes;
 }
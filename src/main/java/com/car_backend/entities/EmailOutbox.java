@@ -0,0 +1,61 @@
+package com.car_backend.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// one row per outgoing email, written in the same transaction as the change that
+// triggered it. the dispatcher picks up PENDING rows whose nextAttemptAt has
+// passed, and gives up (FAILED) after the configured number of attempts.
+// digest rows for the same recipient that are pending together are merged into
+// one email when the first of them falls due. SENT rows are purged once they are
+// older than the retention period.
+@Entity
+@Table(name = "email_outbox", indexes = {
+		@Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"),
+		@Index(name = "idx_email_outbox_recipient", columnList = "recipient, status") })
+@AttributeOverride(name = "id", column = @Column(name = "outbox_id"))
+@Getter
+@Setter
+
+public class EmailOutbox extends BaseEntity {
+
+	@Column(name = "recipient", nullable = false)
+	private String recipient;
+
+	@Column(name = "subject", nullable = false)
+	private String subject;
+
+	@Column(name = "body", nullable = false, columnDefinition = "TEXT")
+	private String body;
+
+	@Column(name = "html", nullable = false)
+	private boolean html;
+
+	@Column(name = "digest", nullable = false)
+	private boolean digest;
+
+	@Column(name = "status", nullable = false, length = 20)
+	@Enumerated(EnumType.STRING)
+	private EmailOutboxStatus status;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "sent_at")
+	private LocalDateTime sentAt;
+}
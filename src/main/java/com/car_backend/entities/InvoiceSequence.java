@@ -0,0 +1,32 @@
+package com.car_backend.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// one row per calendar year; nextValue is the first invoice number not yet
+// handed out to any application instance
+@Entity
+@Table(name = "invoice_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+
+public class InvoiceSequence {
+
+	@Id
+	@Column(name = "seq_year")
+	private Integer year;
+
+	@Column(name = "next_value", nullable = false)
+	private Long nextValue;
+
+	public InvoiceSequence(Integer year, Long nextValue) {
+		this.year = year;
+		this.nextValue = nextValue;
+	}
+}
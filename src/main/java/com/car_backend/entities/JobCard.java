@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -12,8 +14,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -21,13 +27,27 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "job_card")
+@Table(name = "job_card", indexes = {
+		@Index(name = "idx_job_card_created", columnList = "created_on, job_card_id"),
+		@Index(name = "idx_job_card_manager_created", columnList = "manager_id, created_on, job_card_id"),
+		@Index(name = "idx_job_card_mechanic_created", columnList = "mechanic_id, created_on, job_card_id"),
+		@Index(name = "idx_job_card_status_created", columnList = "job_card_status, created_on, job_card_id") })
+@NamedEntityGraph(name = JobCard.RESPONSE_GRAPH, attributeNodes = {
+		@NamedAttributeNode(value = "appointment", subgraph = "appointment"),
+		@NamedAttributeNode("manager"),
+		@NamedAttributeNode("mechanic") }, subgraphs = {
+				@NamedSubgraph(name = "appointment", attributeNodes = @NamedAttributeNode(value = "vehicleDetails", subgraph = "vehicle")),
+				@NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode("customer")) })
 @AttributeOverride(name = "id", column = @Column(name = "job_card_id"))
 @Getter
 @Setter
 
 public class JobCard extends BaseEntity {
 
+	// everything a JobCardResponseDto reads from the to-one side, fetched in the
+	// list query itself; items and evidences are loaded in batches below
+	public static final String RESPONSE_GRAPH = "JobCard.responseGraph";
+
 	@OneToOne
 	@JoinColumn(name = "appointment_id", unique = true)
 	private Appointment appointment;
@@ -66,9 +86,11 @@ public class JobCard extends BaseEntity {
 	private String customerFeedback;
 
 	@OneToMany(mappedBy = "jobCard", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 250)
 	private List<JobCardItem> items = new ArrayList<>();
 
 	@OneToMany(mappedBy = "jobCard", cascade = CascadeType.ALL, orphanRemoval = true)
+	@BatchSize(size = 250)
 	private List<JobCardEvidence> evidences = new ArrayList<>();
 
 }
@@ -0,0 +1,46 @@
+package com.car_backend.entities;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+// running totals per (type, manager, status, day the job card / invoice was
+// created). rows are written with an upsert from StatsCounterRepository so the
+// entity is only used for reads and schema generation.
+@Entity
+@Table(name = "stats_counter", uniqueConstraints = @UniqueConstraint(name = "uk_stats_counter", columnNames = {
+		"counter_type", "status", "manager_id", "stat_day" }), indexes = @Index(name = "idx_stats_counter_manager", columnList = "counter_type, manager_id"))
+@AttributeOverride(name = "id", column = @Column(name = "stats_counter_id"))
+@Getter
+@Setter
+
+public class StatsCounter extends BaseEntity {
+
+	@Column(name = "counter_type", nullable = false, length = 20)
+	@Enumerated(EnumType.STRING)
+	private StatsCounterType counterType;
+
+	@Column(name = "manager_id", nullable = false)
+	private Long managerId;
+
+	@Column(name = "status", nullable = false, length = 50)
+	private String status;
+
+	@Column(name = "stat_day", nullable = false)
+	private LocalDate statDay;
+
+	@Column(name = "item_count", nullable = false)
+	private long itemCount;
+
+	@Column(name = "amount_total", nullable = false)
+	private double amountTotal;
+}
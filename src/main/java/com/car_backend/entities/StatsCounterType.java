@@ -0,0 +1,5 @@
+package com.car_backend.entities;
+
+public enum StatsCounterType {
+	JOB_CARD, INVOICE
+}
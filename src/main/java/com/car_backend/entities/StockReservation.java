@@ -0,0 +1,54 @@
+package com.car_backend.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// one hold per job card item. HELD quantities are subtracted from stock to get
+// the available-to-promise quantity; stock itself only changes when the hold is
+// COMMITTED on job completion. expiresAt is null once work has started.
+@Entity
+@Table(name = "stock_reservation", indexes = {
+		@Index(name = "idx_stock_reservation_inventory", columnList = "inventory_id, status"),
+		@Index(name = "idx_stock_reservation_job_card", columnList = "job_card_id"),
+		@Index(name = "idx_stock_reservation_expiry", columnList = "status, expires_at") })
+@AttributeOverride(name = "id", column = @Column(name = "reservation_id"))
+@Getter
+@Setter
+
+public class StockReservation extends BaseEntity {
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "inventory_id", nullable = false)
+	private Inventory inventory;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "job_card_id", nullable = false)
+	private JobCard jobCard;
+
+	// plain column rather than a foreign key: the item row is deleted when it is
+	// removed from the job card, the hold row is kept as RELEASED
+	@Column(name = "job_card_item_id", nullable = false)
+	private Long jobCardItemId;
+
+	@Column(name = "quantity", nullable = false)
+	private int quantity;
+
+	@Column(name = "status", nullable = false, length = 20)
+	@Enumerated(EnumType.STRING)
+	private ReservationStatus status;
+
+	@Column(name = "expires_at")
+	private LocalDateTime expiresAt;
+}
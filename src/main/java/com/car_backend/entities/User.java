@@ -44,6 +44,10 @@ public class User extends BaseEntity{
 	@JoinColumn(name="manager_id")
 	private User manager;
 	
+	// carried in the token's "ver" claim; bumping it revokes every token issued so far
+	@Column(name="token_version", nullable=false)
+	private int tokenVersion;
+	
 	
 	
 }
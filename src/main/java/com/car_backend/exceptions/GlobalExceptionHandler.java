@@ -3,6 +3,7 @@ package com.car_backend.exceptions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -120,6 +121,13 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
 	}
 
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<ApiResponse> handleServiceBusyException(ServiceBusyException ex) {
+		ApiResponse response = new ApiResponse(ex.getMessage(), "Service busy");
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(response);
+	}
+
 	// Handle Access Denied (role-based)
 	@ExceptionHandler(AccessDeniedException.class)
 	public ResponseEntity<ApiResponse> handleAccessDeniedException(AccessDeniedException ex) {
@@ -0,0 +1,8 @@
+package com.car_backend.exceptions;
+
+@SuppressWarnings("serial")
+public class ServiceBusyException extends RuntimeException {
+	public ServiceBusyException(String mesg) {
+		super(mesg);
+	}
+}
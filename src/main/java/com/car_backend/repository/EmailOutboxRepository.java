@@ -0,0 +1,49 @@
+package com.car_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.car_backend.entities.EmailOutbox;
+import com.car_backend.entities.EmailOutboxStatus;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+	// SKIP LOCKED lets several instances drain the outbox without waiting on each other
+	@Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+			+ "ORDER BY outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	// digest rows for the given recipients that are still waiting out their window.
+	// attempts = 0 keeps out rows already leased by another run (claiming counts an
+	// attempt and pushes next_attempt_at out, and their row locks are gone once the
+	// claim commits) as well as rows backing off after a failed send
+	@Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND digest = TRUE AND attempts = 0 "
+			+ "AND recipient IN (:recipients) AND next_attempt_at > :now "
+			+ "ORDER BY outbox_id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<EmailOutbox> lockPendingDigests(@Param("recipients") Collection<String> recipients,
+			@Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE EmailOutbox e SET e.status = com.car_backend.entities.EmailOutboxStatus.SENT, "
+			+ "e.sentAt = :now, e.lastError = NULL, e.lastUpdated = :now WHERE e.id IN :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	// SENT rows older than the cutoff, at most limit per call so each delete holds
+	// its locks only briefly
+	@Modifying
+	@Query(value = "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit",
+			nativeQuery = true)
+	int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+	@Modifying
+	@Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, "
+			+ "e.lastError = :error, e.lastUpdated = LOCAL DATETIME WHERE e.id = :id")
+	int recordFailure(@Param("id") Long id, @Param("status") EmailOutboxStatus status,
+			@Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+}
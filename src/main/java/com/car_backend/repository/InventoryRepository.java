@@ -1,13 +1,15 @@
 package com.car_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.car_backend.entities.Inventory;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
 	boolean existsBySkuCode(String skuCode);
 	
 	Inventory findBySkuCode(String skuCode);
@@ -26,4 +28,23 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 		       "(LOWER(i.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
 		       " LOWER(i.skuCode) LIKE LOWER(CONCAT('%', :keyword, '%')))")
 	List<Inventory> searchByName(String keyword);
+
+	// stock moves for job card items are single UPDATEs instead of read-check-save,
+	// so concurrent requests on one SKU never fail on @Version. returns the number
+	// of rows updated. decrements go through decrementStockBatch.
+	@Modifying
+	@Query("UPDATE Inventory i SET i.stockQuantity = i.stockQuantity + :quantity, i.version = i.version + 1, "
+			+ "i.lastUpdated = LOCAL DATETIME WHERE i.id = :id")
+	int incrementStock(Long id, int quantity);
+
+	interface StockLevel {
+		Long getId();
+
+		int getStockQuantity();
+	}
+
+	// locks the rows (in id order) while new holds are checked against them
+	@Query(value = "SELECT product_id AS id, stock_quantity AS stockQuantity FROM inventory "
+			+ "WHERE product_id IN (:ids) ORDER BY product_id FOR UPDATE", nativeQuery = true)
+	List<StockLevel> lockStockLevels(Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package com.car_backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryRepositoryCustom {
+
+	// guarded decrement for several items in one JDBC batch; returns the ids whose
+	// row was not updated (deleted or not enough stock)
+	List<Long> decrementStockBatch(Map<Long, Integer> quantities);
+}
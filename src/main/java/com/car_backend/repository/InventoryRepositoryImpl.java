@@ -0,0 +1,41 @@
+package com.car_backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+// guarded decrement (only when the item is live and has the quantity in stock), sent
+// as one batch. runs on the connection of the surrounding JPA transaction.
+@RequiredArgsConstructor
+public class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+	private static final String DECREMENT_SQL = "UPDATE inventory SET stock_quantity = stock_quantity - ?, "
+			+ "version = version + 1, updated_on = CURRENT_TIMESTAMP "
+			+ "WHERE product_id = ? AND is_deleted = false AND stock_quantity >= ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public List<Long> decrementStockBatch(Map<Long, Integer> quantities) {
+		List<Object[]> args = new ArrayList<>(quantities.size());
+		List<Long> ids = new ArrayList<>(quantities.size());
+		quantities.forEach((id, quantity) -> {
+			args.add(new Object[] { quantity, id, quantity });
+			ids.add(id);
+		});
+
+		int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+
+		List<Long> failed = new ArrayList<>();
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0) {
+				failed.add(ids.get(i));
+			}
+		}
+		return failed;
+	}
+}
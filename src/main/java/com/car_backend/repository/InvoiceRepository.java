@@ -1,5 +1,7 @@
 package com.car_backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,21 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
 	Optional<Invoice> findByJobCardId(Long jobCardId);
 
+	// everything the pdf shows, in one query
+	@Query("SELECT i FROM Invoice i LEFT JOIN FETCH i.jobCard j LEFT JOIN FETCH j.appointment a "
+			+ "LEFT JOIN FETCH a.vehicleDetails v LEFT JOIN FETCH v.customer LEFT JOIN FETCH j.items WHERE i.id = :id")
+	Optional<Invoice> findDetailedById(@Param("id") Long id);
+
+	@Query("SELECT DISTINCT i FROM Invoice i LEFT JOIN FETCH i.jobCard j LEFT JOIN FETCH j.appointment a "
+			+ "LEFT JOIN FETCH a.vehicleDetails v LEFT JOIN FETCH v.customer LEFT JOIN FETCH j.items WHERE i.id IN :ids")
+	List<Invoice> findDetailedByIdIn(@Param("ids") Collection<Long> ids);
+
+	// ids only, so a large export can load the invoices a chunk at a time. null filters match everything
+	@Query("SELECT i.id FROM Invoice i WHERE (:from IS NULL OR i.createdOn >= :from) "
+			+ "AND (:to IS NULL OR i.createdOn < :to) AND (:status IS NULL OR i.paymentStatus = :status) ORDER BY i.id")
+	List<Long> findIdsForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("status") PaymentStatus status);
+
 	@Query("SELECT i FROM Invoice i WHERE i.jobCard.appointment.vehicleDetails.customer.id = :customerId")
 	List<Invoice> findByCustomerId(@Param("customerId") Long customerId);
 
@@ -28,4 +45,8 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
 	@Query("SELECT SUM(i.totalAmount) FROM Invoice i WHERE i.jobCard.manager.id = :managerId AND i.paymentStatus = com.car_backend.entities.PaymentStatus.PAID")
 	Double calculateRevenueByManagerId(@Param("managerId") Long managerId);
+
+	// highest numeric suffix among numbers like INV-2025-0042, used to seed a year's sequence
+	@Query("SELECT MAX(CAST(SUBSTRING(i.invoiceNumber, LENGTH(:prefix) + 1) AS Long)) FROM Invoice i WHERE i.invoiceNumber LIKE CONCAT(:prefix, '%')")
+	Long findMaxNumberWithPrefix(@Param("prefix") String prefix);
 }
@@ -0,0 +1,26 @@
+package com.car_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.car_backend.entities.InvoiceSequence;
+
+import jakarta.persistence.LockModeType;
+
+public interface InvoiceSequenceRepository extends JpaRepository<InvoiceSequence, Integer> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM InvoiceSequence s WHERE s.year = :year")
+	Optional<InvoiceSequence> findForUpdate(@Param("year") Integer year);
+
+	// a plain insert rather than save(): the id is assigned, so save() would merge
+	// and silently overwrite a row another instance created in the meantime
+	@Modifying
+	@Query(value = "INSERT INTO invoice_sequence (seq_year, next_value) VALUES (:year, :nextValue)", nativeQuery = true)
+	int insert(@Param("year") Integer year, @Param("nextValue") Long nextValue);
+}
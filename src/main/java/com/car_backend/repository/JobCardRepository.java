@@ -1,9 +1,16 @@
 package com.car_backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.car_backend.dto.jobCard.JobCardSummaryDto;
 import com.car_backend.entities.Appointment;
 import com.car_backend.entities.JobCard;
 import com.car_backend.entities.JobCardStatus;
@@ -15,16 +22,118 @@ public interface JobCardRepository extends JpaRepository<JobCard, Long> {
 
 	JobCard findByAppointment(Appointment appointment);
 
+	// list queries load the whole response graph up front (see JobCard.RESPONSE_GRAPH)
+
+	@Override
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	List<JobCard> findAll();
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	List<JobCard> findByManager(User manager);
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	List<JobCard> findByMechanic(User mechanic);
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	List<JobCard> findByJobCardStatus(JobCardStatus jobCardStatus);
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	List<JobCard> findByManagerIdAndJobCardStatus(Long managerId, JobCardStatus status);
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	List<JobCard> findByMechanicIdAndJobCardStatus(Long mechanicId, JobCardStatus status);
 
+	// keyset pages, sorted on (createdOn, id) and backed by the composite indexes on
+	// job_card; the position carries the last seen key so deep pages cost the same
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	Window<JobCard> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	Window<JobCard> findByManagerId(Long managerId, ScrollPosition position, Sort sort, Limit limit);
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	Window<JobCard> findByMechanicId(Long mechanicId, ScrollPosition position, Sort sort, Limit limit);
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	Window<JobCard> findByJobCardStatus(JobCardStatus status, ScrollPosition position, Sort sort, Limit limit);
+
+	// summary rows for list screens: only the columns a list shows, with the parts total
+	// summed in SQL. Null filters are ignored; afterCreatedOn/afterId is the keyset cursor.
+
+	String SUMMARY_SELECT = "SELECT new com.car_backend.dto.jobCard.JobCardSummaryDto(j.id, j.jobCardStatus, "
+			+ "v.licensePlate, c.userName, COALESCE(m.userName, 'Unassigned'), "
+			+ "COALESCE(j.laborCost, 0.0) + COALESCE((SELECT SUM(i.snapshotPrice * i.quantity) FROM JobCardItem i "
+			+ "WHERE i.jobCard = j), 0.0), j.createdOn) "
+			+ "FROM JobCard j JOIN j.appointment a JOIN a.vehicleDetails v JOIN v.customer c LEFT JOIN j.mechanic m "
+			+ "WHERE (:managerId IS NULL OR j.manager.id = :managerId) "
+			+ "AND (:mechanicId IS NULL OR m.id = :mechanicId) "
+			+ "AND (:status IS NULL OR j.jobCardStatus = :status) ";
+
+	@org.springframework.data.jpa.repository.Query(SUMMARY_SELECT
+			+ "AND (:afterCreatedOn IS NULL OR j.createdOn < :afterCreatedOn "
+			+ "OR (j.createdOn = :afterCreatedOn AND j.id < :afterId)) "
+			+ "ORDER BY j.createdOn DESC, j.id DESC")
+	List<JobCardSummaryDto> findSummariesNewestFirst(Long managerId, Long mechanicId, JobCardStatus status,
+			LocalDateTime afterCreatedOn, Long afterId, Limit limit);
+
+	@org.springframework.data.jpa.repository.Query(SUMMARY_SELECT
+			+ "AND (:afterCreatedOn IS NULL OR j.createdOn > :afterCreatedOn "
+			+ "OR (j.createdOn = :afterCreatedOn AND j.id > :afterId)) "
+			+ "ORDER BY j.createdOn ASC, j.id ASC")
+	List<JobCardSummaryDto> findSummariesOldestFirst(Long managerId, Long mechanicId, JobCardStatus status,
+			LocalDateTime afterCreatedOn, Long afterId, Limit limit);
+
+	// dashboard: one row per status instead of a COUNT per status
+
+	interface StatusCount {
+		JobCardStatus getStatus();
+
+		long getTotal();
+	}
+
+	@org.springframework.data.jpa.repository.Query("SELECT j.jobCardStatus AS status, COUNT(j) AS total FROM JobCard j "
+			+ "WHERE j.manager.id = :managerId GROUP BY j.jobCardStatus")
+	List<StatusCount> countByStatusForManager(Long managerId);
+
+	@org.springframework.data.jpa.repository.Query("SELECT j.jobCardStatus AS status, COUNT(j) AS total FROM JobCard j "
+			+ "WHERE j.mechanic.id = :mechanicId GROUP BY j.jobCardStatus")
+	List<StatusCount> countByStatusForMechanic(Long mechanicId);
+
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
+	List<JobCard> findTop5ByManagerIdOrderByCreatedOnDescIdDesc(Long managerId);
+
+	// team workload: one row per mechanic under the manager, mechanics without
+	// any job card included with zero counts
+
+	interface MechanicWorkload {
+		Long getMechanicId();
+
+		String getMechanicName();
+
+		long getActiveJobs();
+
+		long getTotalJobs();
+
+		long getCreatedJobs();
+
+		long getCompletedJobs();
+
+		Double getAvgCompletionMinutes();
+	}
+
+	// startTime is set by startWork; older cards without it are measured from creation
+	@org.springframework.data.jpa.repository.Query("SELECT m.id AS mechanicId, m.userName AS mechanicName, "
+			+ "SUM(CASE WHEN j.jobCardStatus = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS activeJobs, "
+			+ "COUNT(j) AS totalJobs, "
+			+ "SUM(CASE WHEN j.jobCardStatus = 'CREATED' THEN 1 ELSE 0 END) AS createdJobs, "
+			+ "SUM(CASE WHEN j.jobCardStatus = 'COMPLETED' THEN 1 ELSE 0 END) AS completedJobs, "
+			+ "AVG(CASE WHEN j.jobCardStatus = 'COMPLETED' "
+			+ "THEN (j.completionTime - COALESCE(j.startTime, j.createdOn)) BY MINUTE END) AS avgCompletionMinutes "
+			+ "FROM User m LEFT JOIN JobCard j ON j.mechanic = m "
+			+ "WHERE m.manager.id = :managerId GROUP BY m.id, m.userName ORDER BY m.id")
+	List<MechanicWorkload> findTeamWorkload(Long managerId);
+
 	long countByMechanicIdAndJobCardStatus(Long mechanicId, JobCardStatus status);
 
 	long countByManagerIdAndJobCardStatus(Long managerId, JobCardStatus status);
@@ -38,6 +147,7 @@ public interface JobCardRepository extends JpaRepository<JobCard, Long> {
 	@org.springframework.data.jpa.repository.Query("SELECT SUM(i.snapshotPrice * i.quantity) FROM JobCard j JOIN j.items i WHERE j.manager.id = :managerId AND j.jobCardStatus = 'COMPLETED'")
 	Double calculateRevenueByManagerId(Long managerId);
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	@org.springframework.data.jpa.repository.Query("SELECT j FROM JobCard j JOIN j.appointment a JOIN a.vehicleDetails v JOIN v.customer c "
 			+
 			"WHERE (v.licensePlate LIKE %:keyword% OR c.userName LIKE %:keyword%) AND j.manager.id = :managerId")
@@ -46,6 +156,7 @@ public interface JobCardRepository extends JpaRepository<JobCard, Long> {
 	@org.springframework.data.jpa.repository.Query("SELECT SUM(i.snapshotPrice * i.quantity) FROM JobCard j JOIN j.items i WHERE j.jobCardStatus = 'COMPLETED'")
 	Double calculateTotalRevenue();
 
+	@EntityGraph(JobCard.RESPONSE_GRAPH)
 	@org.springframework.data.jpa.repository.Query("SELECT j FROM JobCard j WHERE j.appointment.vehicleDetails.customer.id = :customerId")
 	List<JobCard> findByCustomerId(Long customerId);
 
@@ -53,4 +164,4 @@ public interface JobCardRepository extends JpaRepository<JobCard, Long> {
 
 // long countByStatus(JobCardStatus status);
 // long countByManagerId(Long managerId);
-// long countByMechanicId(Long mechanicId);
\ No newline at end of file
+// long countByMechanicId(Long mechanicId);
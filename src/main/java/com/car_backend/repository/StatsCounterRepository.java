@@ -0,0 +1,49 @@
+package com.car_backend.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.car_backend.entities.StatsCounter;
+import com.car_backend.entities.StatsCounterType;
+
+public interface StatsCounterRepository extends JpaRepository<StatsCounter, Long> {
+
+	@Modifying
+	@Query(value = "INSERT INTO stats_counter (counter_type, manager_id, status, stat_day, item_count, amount_total, created_on, updated_on) "
+			+ "VALUES (:type, :managerId, :status, :day, :count, :amount, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) "
+			+ "ON DUPLICATE KEY UPDATE item_count = item_count + VALUES(item_count), "
+			+ "amount_total = amount_total + VALUES(amount_total), updated_on = CURRENT_TIMESTAMP", nativeQuery = true)
+	int increment(@Param("type") String type, @Param("managerId") Long managerId, @Param("status") String status,
+			@Param("day") LocalDate day, @Param("count") long count, @Param("amount") double amount);
+
+	@Query("SELECT COALESCE(SUM(c.itemCount), 0) FROM StatsCounter c WHERE c.counterType = :type "
+			+ "AND (:managerId IS NULL OR c.managerId = :managerId) AND (:status IS NULL OR c.status = :status)")
+	long sumCount(@Param("type") StatsCounterType type, @Param("managerId") Long managerId,
+			@Param("status") String status);
+
+	@Query("SELECT COALESCE(SUM(c.amountTotal), 0) FROM StatsCounter c WHERE c.counterType = :type "
+			+ "AND (:managerId IS NULL OR c.managerId = :managerId) AND (:status IS NULL OR c.status = :status)")
+	double sumAmount(@Param("type") StatsCounterType type, @Param("managerId") Long managerId,
+			@Param("status") String status);
+
+	// rebuild: recompute every row from the source tables
+
+	@Modifying
+	@Query(value = "INSERT INTO stats_counter (counter_type, manager_id, status, stat_day, item_count, amount_total, created_on, updated_on) "
+			+ "SELECT 'JOB_CARD', j.manager_id, j.job_card_status, COALESCE(CAST(j.created_on AS DATE), CURRENT_DATE), "
+			+ "COUNT(*), 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM job_card j "
+			+ "GROUP BY j.manager_id, j.job_card_status, COALESCE(CAST(j.created_on AS DATE), CURRENT_DATE)", nativeQuery = true)
+	int rebuildJobCardCounters();
+
+	@Modifying
+	@Query(value = "INSERT INTO stats_counter (counter_type, manager_id, status, stat_day, item_count, amount_total, created_on, updated_on) "
+			+ "SELECT 'INVOICE', j.manager_id, i.payment_status, COALESCE(CAST(i.created_on AS DATE), CURRENT_DATE), "
+			+ "COUNT(*), COALESCE(SUM(i.total_amount), 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+			+ "FROM invoice i JOIN job_card j ON j.job_card_id = i.job_card_id "
+			+ "GROUP BY j.manager_id, i.payment_status, COALESCE(CAST(i.created_on AS DATE), CURRENT_DATE)", nativeQuery = true)
+	int rebuildInvoiceCounters();
+}
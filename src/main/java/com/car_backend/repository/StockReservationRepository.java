@@ -0,0 +1,40 @@
+package com.car_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.car_backend.entities.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+	interface HeldQuantity {
+		Long getInventoryId();
+
+		long getQuantity();
+	}
+
+	// active holds are HELD and either pinned (no expiry) or not yet expired
+	@Query("SELECT r.inventory.id AS inventoryId, SUM(r.quantity) AS quantity FROM StockReservation r "
+			+ "WHERE r.inventory.id IN :inventoryIds AND r.status = com.car_backend.entities.ReservationStatus.HELD "
+			+ "AND (r.expiresAt IS NULL OR r.expiresAt > :now) GROUP BY r.inventory.id")
+	List<HeldQuantity> sumActiveHolds(@Param("inventoryIds") Collection<Long> inventoryIds,
+			@Param("now") LocalDateTime now);
+
+	@Query("SELECT r FROM StockReservation r JOIN FETCH r.inventory WHERE r.jobCard.id = :jobCardId")
+	List<StockReservation> findByJobCardId(@Param("jobCardId") Long jobCardId);
+
+	Optional<StockReservation> findByJobCardItemId(Long jobCardItemId);
+
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.status = com.car_backend.entities.ReservationStatus.EXPIRED, "
+			+ "r.lastUpdated = LOCAL DATETIME WHERE r.status = com.car_backend.entities.ReservationStatus.HELD "
+			+ "AND r.expiresAt <= :now")
+	int expireHolds(@Param("now") LocalDateTime now);
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.car_backend.entities.Role;
 import com.car_backend.entities.User;
@@ -22,4 +23,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByEmail(String email);
 
+	interface TokenVersion {
+		Long getId();
+
+		int getTokenVersion();
+	}
+
+	// users who have had tokens revoked at least once
+	@Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+	List<TokenVersion> findRevokedTokenVersions();
+
 }
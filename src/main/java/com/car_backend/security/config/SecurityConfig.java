@@ -1,6 +1,7 @@
 package com.car_backend.security.config;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +13,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -20,7 +22,10 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.car_backend.security.jwt.JwtAuthenticationFilter;
+import com.car_backend.security.service.BCryptCostCalibrator;
+import com.car_backend.security.service.BoundedPasswordEncoder;
 import com.car_backend.security.service.CustomUserDetailsService;
+import com.car_backend.security.service.PasswordHashingExecutor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,6 +39,8 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BCryptCostCalibrator bcryptCostCalibrator;
 
     // 🔐 Main Security Configuration
     @Bean
@@ -88,7 +95,7 @@ public class SecurityConfig {
 
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of("Authorization", "X-Export-Id", "X-Export-Count"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -97,10 +104,16 @@ public class SecurityConfig {
         return source;
     }
 
-    // 🔑 Password Encoder
+    // 🔑 Password Encoder, hashing runs on the bounded hashing pool
+    // new hashes are written as {bcrypt} at the calibrated strength; older unprefixed
+    // hashes still match and are upgraded on the next successful login
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptCostCalibrator.calibrate())));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new BoundedPasswordEncoder(encoder, passwordHashingExecutor);
     }
 
     // 🔐 Authentication Manager
@@ -1,8 +1,14 @@
 package com.car_backend.security.jwt;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -12,6 +18,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.car_backend.security.service.CustomUserDetailsService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +33,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
+
+    // when true the principal is built from the verified token claims instead of
+    // being loaded by user id
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -34,23 +47,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        String path = request.getRequestURI();
-        System.out.println(">>> Processing Request: " + request.getMethod() + " " + path);
-        String header = request.getHeader("Authorization");
-        System.out.println(">>> Authorization Header: " + header);
-
         try {
             String jwt = extractJwtFromRequest(request);
-            System.out.println(">>> Extracted JWT: " + (jwt != null ? "Present" : "Null"));
 
-            if (jwt != null
-                    && jwtUtil.validateToken(jwt)
-                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // signature and expiry are verified once; the claims carry everything below
+            Optional<Claims> verified = jwt != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                            ? jwtUtil.verify(jwt)
+                            : Optional.empty();
+
+            if (verified.isPresent()) {
+
+                Claims claims = verified.get();
 
                 // ✅ extract userId from JWT
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
+                Long userId = Long.parseLong(claims.getSubject());
+
+                if (revocationRegistry.isRevoked(userId, jwtUtil.getTokenVersion(claims))) {
+                    throw new BadCredentialsException("token has been revoked");
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+                UserDetails userDetails = stateless
+                        ? principalFromClaims(claims)
+                        : userDetailsService.loadUserById(userId);
 
                 // 🔥 THIS LINE IS CRITICAL
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -69,14 +88,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println(">>> JWT Auth Error: " + e.getMessage());
             log.error("JWT authentication failed: {}", e.getMessage());
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails principalFromClaims(Claims claims) {
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(claims.get("email", String.class))
+                .password("")
+                .authorities(Collections.singletonList(
+                        new SimpleGrantedAuthority("ROLE_" + String.valueOf(claims.get("role")))))
+                .build();
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
@@ -2,14 +2,25 @@ package com.car_backend.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.car_backend.entities.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -21,10 +32,37 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    public static final String VERSION_CLAIM = "ver";
+
+    // derived once; the parser is immutable and safe to share between requests
+    private Key signingKey;
+    private JwtParser parser;
+
+    // claims of tokens that already passed verification, keyed by the SHA-256 of
+    // the token and dropped when the token itself expires. revocation is checked
+    // by the caller on every request, so a cached entry never bypasses it.
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(Expiry.creating((String key, Claims claims) ->
+                        Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+                .build();
+    }
+
     /**
      * Generate JWT token from user details
      */
-    public String generateToken(Long userId, String email, Role role) {
+    public String generateToken(Long userId, String email, Role role, int tokenVersion) {
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
@@ -33,21 +71,66 @@ public class JwtUtil {
                 .setSubject(String.valueOf(userId)) // User ID
                 .claim("email", email) // Email
                 .claim("role", role) // Role
+                .claim(VERSION_CLAIM, tokenVersion) // Token version, see TokenRevocationRegistry
                 .setIssuedAt(now) // Issued at
                 .setExpiration(expiryDate) // Expiration
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512) // Signature
+                .signWith(signingKey, SignatureAlgorithm.HS512) // Signature
                 .compact();
     }
 
+    /**
+     * Verify the signature and expiry once and return the claims, or empty when
+     * the token is not valid. Tokens seen before are answered from the cache
+     * without repeating the signature check.
+     */
+    public Optional<Claims> verify(String token) {
+        String key = token != null ? fingerprint(token) : null;
+
+        if (key != null) {
+            Claims cached = verifiedTokens.getIfPresent(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            // only tokens with an expiry in the future can be cached safely
+            if (claims.getExpiration() != null && claims.getExpiration().after(new Date())) {
+                verifiedTokens.put(key, claims);
+            }
+            return Optional.of(claims);
+
+        } catch (MalformedJwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            log.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("JWT signature is invalid: {}", e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Get user ID from token
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
         return Long.parseLong(claims.getSubject());
     }
@@ -56,11 +139,7 @@ public class JwtUtil {
      * Get email from token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
         return claims.get("email", String.class);
     }
@@ -69,46 +148,24 @@ public class JwtUtil {
      * Get role from token
      */
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         // Explicitly convert to string to avoid casting issues
         return String.valueOf(claims.get("role"));
         // return claims.get("role", String.class);
     }
 
     /**
-     * Validate JWT token
+     * Token version claim; tokens issued before the claim existed count as version 0
      */
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-
-            return true;
-
-        } catch (MalformedJwtException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            log.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            log.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            log.error("JWT claims string is empty: {}", e.getMessage());
-        }
-
-        return false;
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
     }
 
     /**
-     * Get signing key from secret
+     * Validate JWT token
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
-}
\ No newline at end of file
+}
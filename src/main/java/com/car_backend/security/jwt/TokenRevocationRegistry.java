@@ -0,0 +1,61 @@
+package com.car_backend.security.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.car_backend.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimum accepted token version per user, for the few users whose tokens have
+ * been revoked (users.token_version > 0). A token is rejected when its "ver"
+ * claim is below the stored version. Reloaded periodically so revocations made on
+ * another instance are seen here too; versions only ever grow.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+	private final UserRepository userRepository;
+
+	private final Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+	public boolean isRevoked(Long userId, int tokenVersion) {
+		return tokenVersion < minimumVersions.getOrDefault(userId, 0);
+	}
+
+	/**
+	 * Record a new token version for the user once the surrounding transaction
+	 * (which bumped users.token_version) commits.
+	 */
+	public void revoke(Long userId, int tokenVersion) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					minimumVersions.merge(userId, tokenVersion, Math::max);
+				}
+			});
+		} else {
+			minimumVersions.merge(userId, tokenVersion, Math::max);
+		}
+	}
+
+	@PostConstruct
+	@Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:60000}", initialDelayString = "${jwt.revocation.refresh-ms:60000}")
+	public void reload() {
+		for (UserRepository.TokenVersion row : userRepository.findRevokedTokenVersions()) {
+			minimumVersions.merge(row.getId(), row.getTokenVersion(), Math::max);
+		}
+		log.debug("token revocation registry holds {} users", minimumVersions.size());
+	}
+}
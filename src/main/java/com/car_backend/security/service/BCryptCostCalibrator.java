@@ -0,0 +1,50 @@
+package com.car_backend.security.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the BCrypt cost for new hashes by timing a hash on the current
+ * hardware. Each cost step doubles the work, so one measurement at the minimum
+ * cost is enough to extrapolate the highest cost that stays within the target.
+ */
+@Component
+@Slf4j
+public class BCryptCostCalibrator {
+
+	private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+	@Value("${security.bcrypt.target-ms:250}")
+	private long targetMillis;
+
+	@Value("${security.bcrypt.min-strength:10}")
+	private int minStrength;
+
+	@Value("${security.bcrypt.max-strength:14}")
+	private int maxStrength;
+
+	public int calibrate() {
+		// first run warms up the JIT, the second one is measured
+		hashMillis(minStrength);
+		double measured = Math.max(hashMillis(minStrength), 1.0);
+
+		int strength = minStrength;
+		while (strength < maxStrength && measured * 2 <= targetMillis) {
+			measured *= 2;
+			strength++;
+		}
+
+		log.info("BCrypt strength {} selected (~{} ms per hash, target {} ms)", strength, Math.round(measured),
+				targetMillis);
+		return strength;
+	}
+
+	private double hashMillis(int strength) {
+		long start = System.nanoTime();
+		BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+		return (System.nanoTime() - start) / 1_000_000.0;
+	}
+}
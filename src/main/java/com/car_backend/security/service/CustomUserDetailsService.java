@@ -1,27 +1,47 @@
 package com.car_backend.security.service;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.car_backend.entities.User;
 import com.car_backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
 	private final UserRepository userRepository;
 
+	// principals resolved for the JWT filter, keyed by user id. bounded and expired
+	// after a TTL so changes made outside UserServiceImpl are picked up eventually.
+	private final Cache<Long, UserDetails> principalCache;
+
+	public CustomUserDetailsService(UserRepository userRepository,
+			@Value("${security.principal-cache.max-size:10000}") long maxSize,
+			@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+		this.userRepository = userRepository;
+		this.principalCache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.build();
+	}
+
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
@@ -32,14 +52,33 @@ public class CustomUserDetailsService implements UserDetailsService {
 	}
 
 	/**
-	 * Load user by ID (used by JWT filter)
+	 * Load user by ID (used by JWT filter), served from the principal cache
 	 */
 	public UserDetails loadUserById(Long id) {
+		return principalCache.get(id, key -> {
+			User user = userRepository.findById(key)
+					.orElseThrow(() -> new UsernameNotFoundException("User not found: " + key));
 
-		User user = userRepository.findById(id)
-				.orElseThrow(() -> new UsernameNotFoundException("User not found: " + id));
+			return buildUserDetails(user);
+		});
+	}
 
-		return buildUserDetails(user);
+	/**
+	 * Drop a cached principal after the user changed. Evicts immediately and again
+	 * after the surrounding transaction commits, so a request racing the update
+	 * cannot cache the old row for the whole TTL.
+	 */
+	public void evictUser(Long id) {
+		principalCache.invalidate(id);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					principalCache.invalidate(id);
+				}
+			});
+		}
 	}
 
 	/**
@@ -47,8 +86,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 	 */
 	private UserDetails buildUserDetails(User user) {
 		var authorities = getAuthorities(user.getUserRole().toString());
-	    System.out.println(">>> Authenticating User: " + user.getEmail());
-	    System.out.println(">>> Granted Authorities: " + authorities);
+		log.debug("resolved user {} with authorities {}", user.getEmail(), authorities);
 
 		return org.springframework.security.core.userdetails.User.builder().username(user.getEmail())
 				.password(user.getPassword()).authorities(authorities).accountExpired(false)
@@ -0,0 +1,94 @@
+package com.car_backend.security.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.car_backend.exceptions.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password hashing on a small dedicated pool with a bounded queue. The
+ * calling request thread still waits for the result, but at most
+ * threads + queue-capacity requests can be held up by hashing at any time;
+ * anything beyond that is rejected straight away with a 503 instead of tying
+ * up more Tomcat workers.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+	private final ThreadPoolExecutor executor;
+	private final MeterRegistry meterRegistry;
+	private final Counter rejected;
+
+	public PasswordHashingExecutor(MeterRegistry meterRegistry,
+			@Value("${security.hashing.threads:0}") int threads,
+			@Value("${security.hashing.queue-capacity:64}") int queueCapacity) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+		this.meterRegistry = meterRegistry;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+				.description("Password hashing tasks waiting for a thread").register(meterRegistry);
+		Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Password hashing tasks currently running").register(meterRegistry);
+		this.rejected = Counter.builder("auth.hashing.rejected")
+				.description("Password hashing tasks rejected because the queue was full").register(meterRegistry);
+
+		log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+	}
+
+	/**
+	 * Run a hashing operation on the pool and wait for its result
+	 */
+	public <T> T execute(String operation, Supplier<T> task) {
+		Timer timer = Timer.builder("auth.hashing.duration")
+				.description("Time spent hashing or matching passwords")
+				.tag("operation", operation)
+				.register(meterRegistry);
+
+		Future<T> future;
+		try {
+			future = executor.submit(() -> timer.record(task));
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ServiceBusyException("Too many authentication requests, please retry shortly");
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new ServiceBusyException("Password hashing was interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
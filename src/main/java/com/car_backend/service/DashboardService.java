@@ -0,0 +1,11 @@
+package com.car_backend.service;
+
+import com.car_backend.dto.jobCard.ManagerDashboardDto;
+import com.car_backend.dto.jobCard.MechanicDashboardDto;
+
+public interface DashboardService {
+
+	ManagerDashboardDto getManagerDashboard(Long managerId);
+
+	MechanicDashboardDto getMechanicDashboard(Long mechanicId);
+}
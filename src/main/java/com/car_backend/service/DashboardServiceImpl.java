@@ -0,0 +1,87 @@
+package com.car_backend.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.car_backend.dto.jobCard.JobCardResponseDto;
+import com.car_backend.dto.jobCard.ManagerDashboardDto;
+import com.car_backend.dto.jobCard.MechanicDashboardDto;
+import com.car_backend.entities.JobCardStatus;
+import com.car_backend.entities.Role;
+import com.car_backend.entities.User;
+import com.car_backend.exceptions.InvalidRoleException;
+import com.car_backend.exceptions.ResourceNotFoundException;
+import com.car_backend.repository.JobCardRepository;
+import com.car_backend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+	private final JobCardRepository jobCardRepo;
+	private final UserRepository userRepo;
+	private final JobCardService jobCardService;
+
+	// counts come from a single GROUP BY on job_card_status; only the five most
+	// recent cards are loaded as entities.
+	@Override
+	public ManagerDashboardDto getManagerDashboard(Long managerId) {
+		User manager = userRepo.findById(managerId)
+				.orElseThrow(() -> new ResourceNotFoundException("Manager not found."));
+
+		if (manager.getUserRole() != Role.MANAGER) {
+			throw new InvalidRoleException("user: " + managerId + " does not have a manager role.");
+		}
+
+		Map<JobCardStatus, Long> counts = toStatusMap(jobCardRepo.countByStatusForManager(managerId));
+
+		return ManagerDashboardDto.builder()
+				.totalJobCards(total(counts))
+				.inProgressJobCards(counts.get(JobCardStatus.IN_PROGRESS))
+				.completedJobCards(counts.get(JobCardStatus.COMPLETED))
+				.statusCounts(counts)
+				.recentJobCards(jobCardService.getRecentManagerJobCards(managerId))
+				.build();
+	}
+
+	@Override
+	public MechanicDashboardDto getMechanicDashboard(Long mechanicId) {
+		Map<JobCardStatus, Long> counts = toStatusMap(jobCardRepo.countByStatusForMechanic(mechanicId));
+
+		List<JobCardResponseDto> assigned = jobCardService.getMechanicJobCardsByStatus(mechanicId,
+				JobCardStatus.CREATED);
+		List<JobCardResponseDto> inProgress = jobCardService.getMechanicJobCardsByStatus(mechanicId,
+				JobCardStatus.IN_PROGRESS);
+
+		return MechanicDashboardDto.builder()
+				.totalJobCards(total(counts))
+				.assignedJobCards(assigned)
+				.inProgressJobCards(inProgress)
+				.completedJobCards(counts.get(JobCardStatus.COMPLETED))
+				.statusCounts(counts)
+				.build();
+	}
+
+	// every status is present in the map, zero when the query returned no row for it
+	private Map<JobCardStatus, Long> toStatusMap(List<JobCardRepository.StatusCount> rows) {
+		Map<JobCardStatus, Long> counts = new EnumMap<>(JobCardStatus.class);
+		for (JobCardStatus status : JobCardStatus.values()) {
+			counts.put(status, 0L);
+		}
+		for (JobCardRepository.StatusCount row : rows) {
+			counts.put(row.getStatus(), row.getTotal());
+		}
+		return counts;
+	}
+
+	private Long total(Map<JobCardStatus, Long> counts) {
+		return counts.values().stream().mapToLong(Long::longValue).sum();
+	}
+}
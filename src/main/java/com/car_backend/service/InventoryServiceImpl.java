@@ -1,6 +1,7 @@
 package com.car_backend.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -27,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class InventoryServiceImpl implements InventoryService {
 
 	private final InventoryRepository inventoryRepo;
+	private final StockReservationService stockReservationService;
 	private static final int LOW_STOCK_THRESHOLD = 10;
 
 	@Override
@@ -54,7 +56,7 @@ public class InventoryServiceImpl implements InventoryService {
 	@Override
 	public List<InventoryResponseDto> getAllItems() {
 		List<Inventory> items = inventoryRepo.findAll();
-		return items.stream().map(this::mapToResponseDto).collect(Collectors.toList());
+		return mapAllToResponseDto(items);
 	}
 
 	@Override
@@ -120,35 +122,50 @@ public class InventoryServiceImpl implements InventoryService {
 	@Override
 	public List<InventoryResponseDto> getAvailableItems() {
 		List<Inventory> inventories = inventoryRepo.findAvailableItems();
-		return inventories.stream().map(this::mapToResponseDto).collect(Collectors.toList());
+		return mapAllToResponseDto(inventories);
 	}
 
 	@Override
 	public List<InventoryResponseDto> getLowStockItems() {
 		List<Inventory> items = inventoryRepo.findLowStockItems();
 
-		return items.stream().map(this::mapToResponseDto).collect(Collectors.toList());
+		return mapAllToResponseDto(items);
 	}
 
 	@Override
 	public List<InventoryResponseDto> getOutOfStockItems() {
 		List<Inventory> items = inventoryRepo.findOutOfStockItems();
 
-		return items.stream().map(this::mapToResponseDto).collect(Collectors.toList());
+		return mapAllToResponseDto(items);
 	}
 	
 	@Override
 	public List<InventoryResponseDto> searchItems(String keyword) {
 		List<Inventory> items = inventoryRepo.searchByName(keyword);
-		return items.stream().map(this::mapToResponseDto).collect(Collectors.toList());
+		return mapAllToResponseDto(items);
 	}
 
 	// ----------------Helper Methods----------------
 
 	private InventoryResponseDto mapToResponseDto(Inventory inventory) {
+		Map<Long, Long> held = stockReservationService.heldQuantities(List.of(inventory.getId()));
+		return mapToResponseDto(inventory, held.getOrDefault(inventory.getId(), 0L));
+	}
+
+	// one held-quantity query for the whole list
+	private List<InventoryResponseDto> mapAllToResponseDto(List<Inventory> items) {
+		Map<Long, Long> held = stockReservationService
+				.heldQuantities(items.stream().map(Inventory::getId).collect(Collectors.toList()));
+		return items.stream().map(item -> mapToResponseDto(item, held.getOrDefault(item.getId(), 0L)))
+				.collect(Collectors.toList());
+	}
+
+	private InventoryResponseDto mapToResponseDto(Inventory inventory, long heldQuantity) {
 		return InventoryResponseDto.builder().id(inventory.getId()).itemName(inventory.getItemName())
 				.skuCode(inventory.getSkuCode()).currentPrice(inventory.getCurrentPrice())
-				.stockQuantity(inventory.getStockQuantity()).deleted(inventory.isDeleted())
+				.stockQuantity(inventory.getStockQuantity())
+				.availableQuantity((int) Math.max(0, inventory.getStockQuantity() - heldQuantity))
+				.deleted(inventory.isDeleted())
 				.version(inventory.getVersion())
 				.lowStock(inventory.getStockQuantity() > 0 && inventory.getStockQuantity() <= LOW_STOCK_THRESHOLD)
 				.outOfStock(inventory.getStockQuantity() == 0).createdAt(inventory.getCreatedOn())
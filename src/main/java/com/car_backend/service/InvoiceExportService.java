@@ -0,0 +1,15 @@
+package com.car_backend.service;
+
+import java.time.LocalDate;
+
+import com.car_backend.dto.invoice.InvoiceExportDto;
+import com.car_backend.dto.invoice.InvoiceExportFormat;
+import com.car_backend.dto.invoice.InvoiceExportProgressDto;
+import com.car_backend.entities.PaymentStatus;
+
+public interface InvoiceExportService {
+
+	InvoiceExportDto startExport(LocalDate from, LocalDate to, PaymentStatus status, InvoiceExportFormat format);
+
+	InvoiceExportProgressDto getProgress(String exportId);
+}
@@ -0,0 +1,323 @@
+package com.car_backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.car_backend.dto.invoice.InvoiceExportDto;
+import com.car_backend.dto.invoice.InvoiceExportFormat;
+import com.car_backend.dto.invoice.InvoiceExportProgressDto;
+import com.car_backend.entities.Invoice;
+import com.car_backend.entities.PaymentStatus;
+import com.car_backend.exceptions.InvalidOperationException;
+import com.car_backend.exceptions.ResourceNotFoundException;
+import com.car_backend.repository.InvoiceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfReader;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// bulk invoice export. the matching ids are looked up when the request comes in;
+// the invoices are then loaded a chunk at a time and rendered on a bounded pool
+// while the response is streamed. at most `window` rendered documents are held
+// in memory per export, and they are written out in id order as they complete.
+// documents already in the pdf cache are read from disk, fresh renders are added
+// to it.
+@Service
+@Slf4j
+public class InvoiceExportServiceImpl implements InvoiceExportService {
+
+	private final InvoiceRepository invoiceRepo;
+	private final PdfService pdfService;
+	private final InvoicePdfCache pdfCache;
+	private final TransactionTemplate readTx;
+
+	private final ThreadPoolExecutor renderPool;
+	private final Cache<String, ExportRun> runs;
+
+	@Value("${invoice.export.window:8}")
+	private int window;
+
+	@Value("${invoice.export.fetch-size:100}")
+	private int fetchSize;
+
+	public InvoiceExportServiceImpl(InvoiceRepository invoiceRepo, PdfService pdfService,
+			InvoicePdfCache pdfCache, PlatformTransactionManager transactionManager,
+			@Value("${invoice.export.threads:0}") int threads,
+			@Value("${invoice.export.queue-capacity:32}") int queueCapacity,
+			@Value("${invoice.export.progress-retention-minutes:60}") long retentionMinutes) {
+		this.invoiceRepo = invoiceRepo;
+		this.pdfService = pdfService;
+		this.pdfCache = pdfCache;
+		this.readTx = new TransactionTemplate(transactionManager);
+		this.readTx.setReadOnly(true);
+
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		// when the pool is saturated the exporting thread renders the document itself,
+		// which slows that export down instead of queueing without bound
+		this.renderPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("invoice-export-"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		this.runs = Caffeine.newBuilder()
+				.expireAfterAccess(retentionMinutes, TimeUnit.MINUTES)
+				.build();
+	}
+
+	@Override
+	public InvoiceExportDto startExport(LocalDate from, LocalDate to, PaymentStatus status,
+			InvoiceExportFormat format) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new InvalidOperationException("Export range start " + from + " is after its end " + to);
+		}
+
+		// `to` is inclusive, the query bound is exclusive
+		List<Long> ids = readTx.execute(s -> invoiceRepo.findIdsForExport(
+				from == null ? null : from.atStartOfDay(),
+				to == null ? null : to.plusDays(1).atStartOfDay(),
+				status));
+
+		ExportRun run = new ExportRun(UUID.randomUUID().toString(), format, ids.size());
+		runs.put(run.id, run);
+
+		log.info("Export {}: {} invoices as {} (from {}, to {}, status {})", run.id, ids.size(), format, from, to,
+				status);
+
+		return new InvoiceExportDto(run.id, format, ids.size(), out -> export(run, ids, out));
+	}
+
+	@Override
+	public InvoiceExportProgressDto getProgress(String exportId) {
+		ExportRun run = runs.getIfPresent(exportId);
+		if (run == null) {
+			throw new ResourceNotFoundException("Export: " + exportId + " not found.");
+		}
+		return run.toDto();
+	}
+
+	private void export(ExportRun run, List<Long> ids, OutputStream out) throws IOException {
+		run.start();
+		Deque<Future<RenderedPdf>> pending = new ArrayDeque<>();
+
+		try (ExportSink sink = run.format == InvoiceExportFormat.PDF ? new MergedPdfSink(out) : new ZipSink(out)) {
+			for (int start = 0; start < ids.size(); start += fetchSize) {
+				List<Long> chunk = ids.subList(start, Math.min(start + fetchSize, ids.size()));
+				List<Invoice> invoices = readTx.execute(s -> invoiceRepo.findDetailedByIdIn(chunk));
+				invoices.sort(Comparator.comparing(Invoice::getId));
+
+				for (Invoice invoice : invoices) {
+					if (pending.size() >= window) {
+						sink.add(await(pending.poll()));
+						run.exported.incrementAndGet();
+					}
+					pending.add(renderPool.submit(() -> render(invoice)));
+				}
+			}
+
+			while (!pending.isEmpty()) {
+				sink.add(await(pending.poll()));
+				run.exported.incrementAndGet();
+			}
+			sink.finish();
+			run.finish(InvoiceExportProgressDto.Status.COMPLETED);
+			log.info("Export {} completed: {} invoices", run.id, run.exported.get());
+		} catch (IOException | RuntimeException e) {
+			pending.forEach(f -> f.cancel(true));
+			run.finish(InvoiceExportProgressDto.Status.FAILED);
+			log.error("Export {} failed after {} of {} invoices: {}", run.id, run.exported.get(), run.total,
+					e.getMessage());
+			throw e;
+		}
+	}
+
+	// runs on the render pool. the invoice was fetched with everything the pdf needs
+	private RenderedPdf render(Invoice invoice) throws IOException {
+		String fingerprint = pdfService.renderFingerprint(invoice);
+		String name = "invoice_" + invoice.getInvoiceNumber() + ".pdf";
+
+		InvoicePdfCache.CachedPdf cached = pdfCache.open(invoice.getId(), fingerprint).orElse(null);
+		if (cached != null) {
+			try (InputStream in = cached.stream()) {
+				return new RenderedPdf(name, in.readAllBytes());
+			}
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+		try (InvoicePdfCache.CachingOutputStream tee = pdfCache.tee(invoice.getId(), fingerprint, buffer)) {
+			pdfService.writeInvoicePdf(invoice, tee);
+			tee.commit();
+		}
+		return new RenderedPdf(name, buffer.toByteArray());
+	}
+
+	private RenderedPdf await(Future<RenderedPdf> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Export interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException io) {
+				throw io;
+			}
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		renderPool.shutdownNow();
+	}
+
+	private record RenderedPdf(String name, byte[] content) {
+	}
+
+	// the response stream belongs to the container, sinks finish their format but never close it
+	private interface ExportSink extends AutoCloseable {
+		void add(RenderedPdf pdf) throws IOException;
+
+		void finish() throws IOException;
+
+		@Override
+		default void close() {
+		}
+	}
+
+	private static final class ZipSink implements ExportSink {
+		private final ZipOutputStream zip;
+
+		ZipSink(OutputStream out) {
+			this.zip = new ZipOutputStream(out);
+			// pdf content streams are already compressed
+			this.zip.setLevel(Deflater.BEST_SPEED);
+		}
+
+		@Override
+		public void add(RenderedPdf pdf) throws IOException {
+			zip.putNextEntry(new ZipEntry(pdf.name()));
+			zip.write(pdf.content());
+			zip.closeEntry();
+		}
+
+		@Override
+		public void finish() throws IOException {
+			zip.finish();
+			zip.flush();
+		}
+	}
+
+	// pages are copied into the output as each invoice arrives and the reader is released
+	private static final class MergedPdfSink implements ExportSink {
+		private final OutputStream out;
+		private Document document;
+		private PdfCopy copy;
+
+		MergedPdfSink(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void add(RenderedPdf pdf) throws IOException {
+			PdfReader reader = new PdfReader(pdf.content());
+			try {
+				if (document == null) {
+					document = new Document(reader.getPageSizeWithRotation(1));
+					copy = new PdfCopy(document, out);
+					copy.setCloseStream(false);
+					document.open();
+				}
+				for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+					copy.addPage(copy.getImportedPage(reader, page));
+				}
+				copy.freeReader(reader);
+			} catch (DocumentException e) {
+				throw new IOException("Could not merge " + pdf.name(), e);
+			} finally {
+				reader.close();
+			}
+		}
+
+		@Override
+		public void finish() throws IOException {
+			if (document == null) {
+				// nothing matched; still answer with a valid, empty document
+				document = new Document();
+				copy = new PdfCopy(document, out);
+				copy.setCloseStream(false);
+				document.open();
+				copy.setPageEmpty(false);
+				document.newPage();
+			}
+			document.close();
+			out.flush();
+		}
+	}
+
+	private static final class ExportRun {
+		private final String id;
+		private final InvoiceExportFormat format;
+		private final int total;
+		private final AtomicInteger exported = new AtomicInteger();
+		private volatile InvoiceExportProgressDto.Status status = InvoiceExportProgressDto.Status.PENDING;
+		private volatile LocalDateTime startedAt;
+		private volatile LocalDateTime finishedAt;
+
+		ExportRun(String id, InvoiceExportFormat format, int total) {
+			this.id = id;
+			this.format = format;
+			this.total = total;
+		}
+
+		void start() {
+			startedAt = LocalDateTime.now();
+			status = InvoiceExportProgressDto.Status.RUNNING;
+		}
+
+		void finish(InvoiceExportProgressDto.Status outcome) {
+			finishedAt = LocalDateTime.now();
+			status = outcome;
+		}
+
+		InvoiceExportProgressDto toDto() {
+			return InvoiceExportProgressDto.builder()
+					.exportId(id)
+					.format(format)
+					.status(status)
+					.totalInvoices(total)
+					.exportedInvoices(exported.get())
+					.startedAt(startedAt)
+					.finishedAt(finishedAt)
+					.build();
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package com.car_backend.service;
+
+public interface InvoiceNumberService {
+
+	String nextInvoiceNumber();
+}
@@ -0,0 +1,175 @@
+package com.car_backend.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.car_backend.entities.InvoiceSequence;
+import com.car_backend.repository.InvoiceRepository;
+import com.car_backend.repository.InvoiceSequenceRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// hands out invoice numbers INV-<year>-<n> from blocks reserved in the
+// invoice_sequence table. each instance reserves blockSize numbers at a time
+// under a row lock, so concurrent invoices on one instance never touch the
+// database and instances never overlap. numbers are taken from the current block
+// without locking, and the block after it is kept reserved ahead by a background
+// thread, so callers, which are inside their own invoice transaction, normally
+// never need a second connection; only when that spare is not ready does a caller
+// reserve a block itself; if another thread replaced the block first, the rest of
+// the new one becomes the spare. numbers left in blocks when the application stops,
+// or in a block that found both slots taken, are skipped, so the sequence is unique
+// but may have gaps.
+@Service
+@Slf4j
+public class InvoiceNumberServiceImpl implements InvoiceNumberService {
+
+	private static final String PREFIX = "INV-";
+
+	private final InvoiceSequenceRepository sequenceRepo;
+	private final InvoiceRepository invoiceRepo;
+	private final TransactionTemplate reserveTx;
+
+	@Value("${invoice.number.block-size:50}")
+	private int blockSize;
+
+	private final ThreadPoolExecutor refillExecutor;
+
+	private final AtomicReference<Block> current = new AtomicReference<>();
+	private final AtomicReference<Block> spare = new AtomicReference<>();
+	private final AtomicBoolean refilling = new AtomicBoolean();
+
+	public InvoiceNumberServiceImpl(InvoiceSequenceRepository sequenceRepo, InvoiceRepository invoiceRepo,
+			PlatformTransactionManager transactionManager) {
+		this.sequenceRepo = sequenceRepo;
+		this.invoiceRepo = invoiceRepo;
+		// the reservation commits on its own so the row lock is held only for the
+		// update, not for the rest of the caller's invoice transaction
+		this.reserveTx = new TransactionTemplate(transactionManager);
+		this.reserveTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.refillExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("invoice-number-"),
+				new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	@Override
+	public String nextInvoiceNumber() {
+		int year = LocalDate.now().getYear();
+
+		while (true) {
+			Block block = current.get();
+			if (block != null && block.year() == year) {
+				long value = block.next().getAndIncrement();
+				if (value < block.end()) {
+					refillSpare(year);
+					return format(year, value);
+				}
+			}
+
+			// used up (or a new year): switch to the spare and take from it
+			Block next = spare.getAndSet(null);
+			if (next != null && next.year() == year) {
+				if (!current.compareAndSet(block, next)) {
+					// another thread switched first; keep the spare for later if the slot is free
+					spare.compareAndSet(null, next);
+				}
+				continue;
+			}
+
+			// no spare ready: reserve here, outside any lock, and keep the first number
+			long first = reserveBlock(year);
+			Block fresh = newBlock(year, first + 1, first);
+			if (!current.compareAndSet(block, fresh) && !spare.compareAndSet(null, fresh)) {
+				log.debug("invoice block {}..{} for {} superseded", first, first + blockSize - 1, year);
+			}
+			return format(year, first);
+		}
+	}
+
+	// reserves the next block on the refill thread, which holds no caller connection.
+	// a no-op while a spare for the year is ready or already being reserved
+	private void refillSpare(int year) {
+		Block next = spare.get();
+		if ((next != null && next.year() == year) || !refilling.compareAndSet(false, true)) {
+			return;
+		}
+		refillExecutor.execute(() -> {
+			try {
+				long first = reserveBlock(year);
+				if (!spare.compareAndSet(null, newBlock(year, first, first))) {
+					log.debug("invoice block {}..{} for {} superseded", first, first + blockSize - 1, year);
+				}
+			} catch (RuntimeException e) {
+				// callers fall back to reserving the block themselves
+				log.warn("could not reserve the next invoice block for {}: {}", year, e.getMessage());
+			} finally {
+				refilling.set(false);
+			}
+		});
+	}
+
+	private Block newBlock(int year, long next, long first) {
+		return new Block(year, new AtomicLong(next), first + blockSize);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		refillExecutor.shutdownNow();
+	}
+
+	private static String format(int year, long value) {
+		return String.format("%s%d-%04d", PREFIX, year, value);
+	}
+
+	// returns the first number of a freshly reserved block for the year
+	private long reserveBlock(int year) {
+		try {
+			return reserveTx.execute(status -> reserve(year));
+		} catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+			// another instance created the row for this year first (duplicate key, or a
+			// deadlock on the gap lock in MySQL); it exists now
+			log.debug("invoice sequence for {} created concurrently, retrying", year);
+			return reserveTx.execute(status -> reserve(year));
+		}
+	}
+
+	private long reserve(int year) {
+		InvoiceSequence sequence = sequenceRepo.findForUpdate(year).orElse(null);
+
+		if (sequence == null) {
+			long first = firstNumberForYear(year);
+			sequenceRepo.insert(year, first + blockSize);
+			log.info("invoice sequence for {} started at {}", year, first);
+			return first;
+		}
+
+		long first = sequence.getNextValue();
+		sequence.setNextValue(first + blockSize);
+		return first;
+	}
+
+	// continues after numbers issued before the sequence table existed
+	private long firstNumberForYear(int year) {
+		Long max = invoiceRepo.findMaxNumberWithPrefix(PREFIX + year + "-");
+		return max != null ? max + 1 : 1;
+	}
+
+	// numbers in [next, end) are free to hand out
+	private record Block(int year, AtomicLong next, long end) {
+	}
+}
@@ -0,0 +1,5 @@
+package com.car_backend.service;
+
+// published inside the transaction that marks an invoice PAID
+public record InvoicePaidEvent(Long invoiceId) {
+}
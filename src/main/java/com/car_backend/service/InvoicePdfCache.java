@@ -0,0 +1,250 @@
+package com.car_backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// rendered invoice PDFs on local disk, one file per <invoice id>-<render fingerprint>.
+// a file is never rewritten: when anything shown on the invoice changes, the
+// fingerprint changes and the old file is simply no longer asked for. the index
+// is an access-ordered LRU bounded by total file size. any I/O problem is
+// treated as a cache miss, the cache never fails a download.
+@Component
+@Slf4j
+public class InvoicePdfCache {
+
+	private static final String SUFFIX = ".pdf";
+
+	private final Path directory;
+	private final long maxBytes;
+
+	// file name -> size, least recently used first. guarded by this
+	private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+	private long totalBytes;
+
+	public InvoicePdfCache(
+			@Value("${invoice.pdf-cache.dir:${java.io.tmpdir}/autoserve-invoice-pdf}") String directory,
+			@Value("${invoice.pdf-cache.max-bytes:268435456}") long maxBytes) {
+		this.directory = Paths.get(directory);
+		this.maxBytes = maxBytes;
+		load();
+	}
+
+	/**
+	 * Open a cached document. The returned stream stays readable even if the entry
+	 * is evicted while it is being sent.
+	 */
+	public Optional<CachedPdf> open(Long invoiceId, String fingerprint) {
+		String name = fileName(invoiceId, fingerprint);
+		Long size;
+		synchronized (this) {
+			size = index.get(name);
+		}
+		if (size == null) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(new CachedPdf(Files.newInputStream(directory.resolve(name)), size));
+		} catch (NoSuchFileException e) {
+			// evicted between the lookup and the open
+			forget(name);
+		} catch (IOException e) {
+			log.warn("Could not read cached invoice pdf {}: {}", name, e.getMessage());
+			forget(name);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Stream that passes everything to target and keeps a copy in the cache. The
+	 * copy only becomes visible on commit(); closing without commit drops it.
+	 */
+	public CachingOutputStream tee(Long invoiceId, String fingerprint, OutputStream target) {
+		return new CachingOutputStream(fileName(invoiceId, fingerprint), target);
+	}
+
+	public record CachedPdf(InputStream stream, long size) {
+	}
+
+	public final class CachingOutputStream extends OutputStream {
+
+		private final String name;
+		private final OutputStream target;
+		private Path temp;
+		// null once the copy has failed or been committed; the target is unaffected
+		private OutputStream copy;
+		private long size;
+
+		private CachingOutputStream(String name, OutputStream target) {
+			this.name = name;
+			this.target = target;
+			try {
+				// written under a temporary name and moved into place, so readers never see a partial file
+				temp = Files.createTempFile(directory, "invoice-", ".part");
+				copy = new BufferedOutputStream(Files.newOutputStream(temp));
+			} catch (IOException e) {
+				log.warn("Could not cache invoice pdf {}: {}", name, e.getMessage());
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			target.write(b, off, len);
+			if (copy != null) {
+				try {
+					copy.write(b, off, len);
+					size += len;
+				} catch (IOException e) {
+					log.warn("Could not cache invoice pdf {}: {}", name, e.getMessage());
+					abandon();
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			target.flush();
+		}
+
+		public void commit() {
+			if (copy == null) {
+				return;
+			}
+			try {
+				copy.close();
+				copy = null;
+				Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+				temp = null;
+			} catch (IOException e) {
+				log.warn("Could not cache invoice pdf {}: {}", name, e.getMessage());
+				abandon();
+				return;
+			}
+
+			synchronized (InvoicePdfCache.this) {
+				Long previous = index.put(name, size);
+				totalBytes += size - (previous != null ? previous : 0);
+				trim();
+			}
+		}
+
+		// the target belongs to the caller and is not closed here
+		@Override
+		public void close() {
+			abandon();
+		}
+
+		private void abandon() {
+			try {
+				if (copy != null) {
+					copy.close();
+				}
+				if (temp != null) {
+					Files.deleteIfExists(temp);
+				}
+			} catch (IOException e) {
+				log.warn("Could not delete partial invoice pdf {}: {}", temp, e.getMessage());
+			}
+			copy = null;
+			temp = null;
+		}
+	}
+
+	/**
+	 * Drop every cached rendering of the invoice
+	 */
+	public void evict(Long invoiceId) {
+		String prefix = invoiceId + "-";
+		List<String> names;
+		synchronized (this) {
+			names = index.keySet().stream().filter(name -> name.startsWith(prefix)).toList();
+			names.forEach(name -> totalBytes -= index.remove(name));
+		}
+		names.forEach(this::delete);
+	}
+
+	private static String fileName(Long invoiceId, String fingerprint) {
+		return invoiceId + "-" + fingerprint + SUFFIX;
+	}
+
+	private synchronized void forget(String name) {
+		Long size = index.remove(name);
+		if (size != null) {
+			totalBytes -= size;
+		}
+	}
+
+	// caller holds the lock
+	private void trim() {
+		Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+		while (totalBytes > maxBytes && eldest.hasNext()) {
+			Map.Entry<String, Long> entry = eldest.next();
+			totalBytes -= entry.getValue();
+			eldest.remove();
+			delete(entry.getKey());
+		}
+	}
+
+	private void delete(String name) {
+		try {
+			Files.deleteIfExists(directory.resolve(name));
+		} catch (IOException e) {
+			log.warn("Could not delete cached invoice pdf {}: {}", name, e.getMessage());
+		}
+	}
+
+	// picks up files from a previous run, oldest first so they are evicted first
+	private synchronized void load() {
+		try {
+			Files.createDirectories(directory);
+			try (Stream<Path> files = Files.list(directory)) {
+				List<Path> paths = files.toList();
+				for (Path path : paths) {
+					if (path.getFileName().toString().endsWith(".part")) {
+						Files.deleteIfExists(path);
+					}
+				}
+				paths.stream().filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+						.sorted(Comparator.comparing(InvoicePdfCache::lastModified))
+						.forEach(path -> {
+							long size = path.toFile().length();
+							index.put(path.getFileName().toString(), size);
+							totalBytes += size;
+						});
+			}
+			trim();
+			log.info("Invoice pdf cache at {} holds {} files ({} bytes)", directory, index.size(), totalBytes);
+		} catch (IOException e) {
+			log.warn("Could not initialise invoice pdf cache at {}: {}", directory, e.getMessage());
+		}
+	}
+
+	private static long lastModified(Path path) {
+		return path.toFile().lastModified();
+	}
+}
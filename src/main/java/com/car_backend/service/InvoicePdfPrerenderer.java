@@ -0,0 +1,108 @@
+package com.car_backend.service;
+
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.car_backend.entities.Invoice;
+import com.car_backend.repository.InvoiceRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// customers usually download the invoice right after paying, so the paid version
+// is rendered into the pdf cache in the background as soon as the payment has
+// committed. best effort only: when the queue is full or rendering fails, the
+// download simply renders on demand as before.
+@Component
+@Slf4j
+public class InvoicePdfPrerenderer {
+
+	private final InvoiceRepository invoiceRepo;
+	private final PdfService pdfService;
+	private final InvoicePdfCache pdfCache;
+	private final TransactionTemplate readTx;
+	private final ThreadPoolExecutor executor;
+
+	// invoices queued or rendering, so repeated events do not render twice
+	private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+	public InvoicePdfPrerenderer(InvoiceRepository invoiceRepo, PdfService pdfService, InvoicePdfCache pdfCache,
+			PlatformTransactionManager transactionManager,
+			@Value("${invoice.pdf-prerender.threads:1}") int threads,
+			@Value("${invoice.pdf-prerender.queue-capacity:100}") int queueCapacity) {
+		this.invoiceRepo = invoiceRepo;
+		this.pdfService = pdfService;
+		this.pdfCache = pdfCache;
+		this.readTx = new TransactionTemplate(transactionManager);
+		this.readTx.setReadOnly(true);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("invoice-prerender-"),
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	// after commit, so the render sees the PAID state and a rolled back payment renders nothing
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onInvoicePaid(InvoicePaidEvent event) {
+		Long invoiceId = event.invoiceId();
+		if (!inFlight.add(invoiceId)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					prerender(invoiceId);
+				} finally {
+					inFlight.remove(invoiceId);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			inFlight.remove(invoiceId);
+			log.warn("Pre-render queue full, invoice {} will render on download", invoiceId);
+		}
+	}
+
+	private void prerender(Long invoiceId) {
+		try {
+			Invoice invoice = readTx.execute(s -> invoiceRepo.findDetailedById(invoiceId).orElse(null));
+			if (invoice == null) {
+				return;
+			}
+
+			String fingerprint = pdfService.renderFingerprint(invoice);
+			InvoicePdfCache.CachedPdf cached = pdfCache.open(invoiceId, fingerprint).orElse(null);
+			if (cached != null) {
+				// already rendered by a download that got there first
+				cached.stream().close();
+				return;
+			}
+
+			try (InvoicePdfCache.CachingOutputStream tee = pdfCache.tee(invoiceId, fingerprint,
+					OutputStream.nullOutputStream())) {
+				pdfService.writeInvoicePdf(invoice, tee);
+				tee.commit();
+			}
+			log.debug("Pre-rendered pdf for invoice {}", invoiceId);
+		} catch (Exception e) {
+			log.warn("Could not pre-render pdf for invoice {}: {}", invoiceId, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
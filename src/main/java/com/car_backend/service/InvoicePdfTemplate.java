@@ -0,0 +1,76 @@
+package com.car_backend.service;
+
+import org.springframework.stereotype.Component;
+
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+
+import lombok.Getter;
+
+// the parts of the invoice layout that are the same on every invoice, built once.
+// nothing here is modified after construction: the static paragraphs are only
+// read while a document is laid out, and PdfPTable.addCell copies the cell it is
+// given, so renders running in parallel can share all of it
+@Component
+@Getter
+public class InvoicePdfTemplate {
+
+    private static final String[] ITEM_COLUMNS = { "Description", "Qty", "Price", "Total" };
+    private static final float[] ITEM_WIDTHS = { 4, 1, 2, 2 };
+
+    private final Font headFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24);
+    private final Font subHeadFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private final Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 11);
+    private final Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+
+    private final Paragraph header;
+    private final Paragraph title;
+    private final Paragraph itemsHeading;
+    private final Paragraph footer;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final PdfPCell[] itemHeaderCells;
+
+    public InvoicePdfTemplate() {
+        header = new Paragraph("AUTOSERVE", headFont);
+        header.setAlignment(Element.ALIGN_CENTER);
+        header.setSpacingAfter(20);
+
+        title = new Paragraph("TAX INVOICE", subHeadFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+
+        itemsHeading = new Paragraph("Service/Parts Details:", boldFont);
+
+        footer = new Paragraph("Thank you for choosing AutoServe!\nVisit us again.", normalFont);
+        footer.setAlignment(Element.ALIGN_CENTER);
+
+        itemHeaderCells = new PdfPCell[ITEM_COLUMNS.length];
+        for (int i = 0; i < ITEM_COLUMNS.length; i++) {
+            PdfPCell cell = new PdfPCell(new Phrase(ITEM_COLUMNS[i], boldFont));
+            cell.setBackgroundColor(java.awt.Color.LIGHT_GRAY);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setPadding(5);
+            itemHeaderCells[i] = cell;
+        }
+    }
+
+    /**
+     * A fresh item table with its widths and header row already in place
+     */
+    public PdfPTable newItemTable() {
+        PdfPTable table = new PdfPTable(ITEM_WIDTHS);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10);
+        table.setSpacingAfter(20);
+        for (PdfPCell cell : itemHeaderCells) {
+            table.addCell(cell);
+        }
+        return table;
+    }
+}
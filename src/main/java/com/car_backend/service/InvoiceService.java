@@ -3,6 +3,7 @@ package com.car_backend.service;
 import java.util.List;
 
 import com.car_backend.dto.invoice.CreatePaymentOrderResponseDto;
+import com.car_backend.dto.invoice.InvoicePdfDto;
 import com.car_backend.dto.invoice.InvoiceResponseDto;
 import com.car_backend.dto.invoice.PaymentVerificationResponseDto;
 import com.car_backend.dto.invoice.VerifyPaymentRequestDto;
@@ -42,6 +43,7 @@ public interface InvoiceService {
 
 	PaymentVerificationResponseDto simulatePayment(Long invoiceId);
 
-	byte[] getInvoicePdf(Long invoiceId);
+	// fingerprint and content in one load; the caller either sends the content or discards it
+	InvoicePdfDto getInvoicePdf(Long invoiceId);
 
 }
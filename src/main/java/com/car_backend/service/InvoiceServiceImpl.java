@@ -1,7 +1,7 @@
 package com.car_backend.service;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -12,11 +12,13 @@ import javax.crypto.spec.SecretKeySpec;
 
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.car_backend.dto.invoice.CreatePaymentOrderResponseDto;
 import com.car_backend.dto.invoice.InvoiceItemDto;
+import com.car_backend.dto.invoice.InvoicePdfDto;
 import com.car_backend.dto.invoice.InvoiceResponseDto;
 import com.car_backend.dto.invoice.PaymentVerificationResponseDto;
 import com.car_backend.dto.invoice.VerifyPaymentRequestDto;
@@ -53,6 +55,10 @@ public class InvoiceServiceImpl implements InvoiceService {
 	private final JobCardRepository jobCardRepo;
 	private final RazorpayClient razorpayClient;
 	private final PdfService pdfService;
+	private final StatsCounterService statsCounterService;
+	private final InvoiceNumberService invoiceNumberService;
+	private final InvoicePdfCache pdfCache;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Value("${razorpay.key.id}")
 	private String razorpayKeyId;
@@ -83,7 +89,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 		Double taxAmount = (baseAmount * taxPercentage) / 100.0;
 		Double totalAmount = baseAmount + taxAmount;
 
-		String invoiceNumber = generateInvoiceNumber();
+		String invoiceNumber = invoiceNumberService.nextInvoiceNumber();
 
 		Invoice invoice = new Invoice();
 		invoice.setInvoiceNumber(invoiceNumber);
@@ -96,6 +102,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 		invoice.setJobCard(jobCard);
 
 		Invoice saved = invoiceRepo.save(invoice);
+		statsCounterService.recordInvoice(saved, null);
 		log.info("invoice generated for job Card : {} ", jobCardId);
 
 		return mapToResponseDto(saved);
@@ -186,9 +193,12 @@ public class InvoiceServiceImpl implements InvoiceService {
 
 			Order order = razorpayClient.orders.create(orderRequest);
 
+			PaymentStatus previousStatus = invoice.getPaymentStatus();
 			invoice.setRazorpayOrderId(order.get("id"));
 			invoice.setPaymentStatus(PaymentStatus.INITIATED);
 			invoiceRepo.save(invoice);
+			statsCounterService.recordInvoice(invoice, previousStatus);
+			pdfCache.evict(invoiceId);
 
 			User customer = invoice.getJobCard().getAppointment().getVehicleDetails().getCustomer();
 
@@ -246,8 +256,11 @@ public class InvoiceServiceImpl implements InvoiceService {
 
 			if (!generatedSignature.equals(request.getRazorpaySignature())) {
 				log.warn("Signature verification failed for invoice {}", invoiceId);
+				PaymentStatus previousStatus = invoice.getPaymentStatus();
 				invoice.setPaymentStatus(PaymentStatus.FAILED);
 				invoiceRepo.save(invoice);
+				statsCounterService.recordInvoice(invoice, previousStatus);
+				pdfCache.evict(invoiceId);
 				return PaymentVerificationResponseDto.builder().verified(false).message("Invalid payment signature")
 						.build();
 			}
@@ -264,10 +277,14 @@ public class InvoiceServiceImpl implements InvoiceService {
 				}
 			}
 
+			PaymentStatus previousStatus = invoice.getPaymentStatus();
 			invoice.setPaymentStatus(PaymentStatus.PAID);
 			invoice.setPaidAt(LocalDateTime.now());
 
 			Invoice updated = invoiceRepo.save(invoice);
+			statsCounterService.recordInvoice(updated, previousStatus);
+			pdfCache.evict(invoiceId);
+			eventPublisher.publishEvent(new InvoicePaidEvent(invoiceId));
 			log.info("Payment verified successfully for invoice {}", invoice.getInvoiceNumber());
 
 			InvoiceResponseDto mappedResponse = null;
@@ -293,36 +310,33 @@ public class InvoiceServiceImpl implements InvoiceService {
 	@Override
 	public long getTotalInvoicesCount() {
 
-		return invoiceRepo.count();
+		return statsCounterService.countInvoices(null, null);
 	}
 
 	@Override
 	public long getPendingPaymentCount() {
 
-		return invoiceRepo.countByPaymentStatus(PaymentStatus.PENDING);
+		return statsCounterService.countInvoices(null, PaymentStatus.PENDING);
 	}
 
 	@Override
 	public long getPaidInvoicesCount() {
-		return invoiceRepo.countByPaymentStatus(PaymentStatus.PAID);
+		return statsCounterService.countInvoices(null, PaymentStatus.PAID);
 	}
 
 	@Override
 	public Double getTotalRevenue() {
-		List<Invoice> invoices = invoiceRepo.findByPaymentStatus(PaymentStatus.PAID);
-		return invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
+		return statsCounterService.sumInvoiceAmount(null, PaymentStatus.PAID);
 	}
 
 	@Override
 	public Double getRevenueByManager(Long managerId) {
-		Double revenue = invoiceRepo.calculateRevenueByManagerId(managerId);
-		return revenue != null ? revenue : 0.0;
+		return statsCounterService.sumInvoiceAmount(managerId, PaymentStatus.PAID);
 	}
 
 	@Override
 	public Double getPendingRevenue() {
-		List<Invoice> invoices = invoiceRepo.findByPaymentStatus(PaymentStatus.PENDING);
-		return invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
+		return statsCounterService.sumInvoiceAmount(null, PaymentStatus.PENDING);
 	}
 
 	@Override
@@ -339,10 +353,14 @@ public class InvoiceServiceImpl implements InvoiceService {
 					.build();
 		}
 
+		PaymentStatus previousStatus = invoice.getPaymentStatus();
 		invoice.setPaymentStatus(PaymentStatus.PAID);
 		invoice.setPaymentMethod(PaymentMethod.SIMULATED);
 		invoice.setPaidAt(LocalDateTime.now());
 		Invoice updated = invoiceRepo.save(invoice);
+		statsCounterService.recordInvoice(updated, previousStatus);
+		pdfCache.evict(invoiceId);
+		eventPublisher.publishEvent(new InvoicePaidEvent(invoiceId));
 
 		log.info("Invoice {} marked as PAID via simulation.", invoiceId);
 		return PaymentVerificationResponseDto.builder()
@@ -385,15 +403,6 @@ public class InvoiceServiceImpl implements InvoiceService {
 		return result.toString();
 	}
 
-	// generate unique invoice number: INV-2024-001
-	private String generateInvoiceNumber() {
-		String year = String.valueOf(LocalDate.now().getYear());
-
-		long count = invoiceRepo.count() + 1;
-
-		return String.format("INV-%s-%04d", year, count);
-	}
-
 	private InvoiceResponseDto mapToResponseDto(Invoice invoice) {
 		JobCard jobCard = invoice.getJobCard();
 		Appointment appointment = jobCard != null ? jobCard.getAppointment() : null;
@@ -438,10 +447,30 @@ public class InvoiceServiceImpl implements InvoiceService {
 	}
 
 	@Override
-	public byte[] getInvoicePdf(Long invoiceId) {
-		Invoice invoice = invoiceRepo.findById(invoiceId)
+	@Transactional(readOnly = true)
+	public InvoicePdfDto getInvoicePdf(Long invoiceId) {
+		Invoice invoice = invoiceRepo.findDetailedById(invoiceId)
 				.orElseThrow(() -> new ResourceNotFoundException("Invoice: " + invoiceId + " not found."));
-		return pdfService.generateInvoicePdf(invoice);
+
+		String fingerprint = pdfService.renderFingerprint(invoice);
+
+		InvoicePdfCache.CachedPdf cached = pdfCache.open(invoiceId, fingerprint).orElse(null);
+		if (cached != null) {
+			return new InvoicePdfDto(fingerprint, cached.size(), out -> {
+				try (InputStream in = cached.stream()) {
+					in.transferTo(out);
+				}
+			}, cached.stream());
+		}
+
+		// rendered while it is sent; the invoice was fetched with everything the pdf
+		// needs, so this works after the transaction has ended
+		return new InvoicePdfDto(fingerprint, null, out -> {
+			try (InvoicePdfCache.CachingOutputStream tee = pdfCache.tee(invoiceId, fingerprint, out)) {
+				pdfService.writeInvoicePdf(invoice, tee);
+				tee.commit();
+			}
+		}, null);
 	}
 
 }
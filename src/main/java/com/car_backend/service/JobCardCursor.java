@@ -0,0 +1,64 @@
+package com.car_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import com.car_backend.exceptions.InvalidOperationException;
+
+/**
+ * Opaque continuation token for job card keyset pages. Holds the sort direction
+ * the page was issued for and the (createdOn, id) key of its last row, encoded
+ * as base64url so clients treat it as a black box.
+ */
+final class JobCardCursor {
+
+	private final Sort.Direction direction;
+	private final LocalDateTime createdOn;
+	private final Long id;
+
+	JobCardCursor(Sort.Direction direction, LocalDateTime createdOn, Long id) {
+		this.direction = direction;
+		this.createdOn = createdOn;
+		this.id = id;
+	}
+
+	static JobCardCursor decode(String token) {
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+			return new JobCardCursor(Sort.Direction.valueOf(parts[0]), LocalDateTime.parse(parts[1]),
+					Long.valueOf(parts[2]));
+		} catch (RuntimeException e) {
+			throw new InvalidOperationException("invalid cursor.");
+		}
+	}
+
+	String encode() {
+		String raw = direction + "|" + createdOn + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	ScrollPosition toScrollPosition() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("createdOn", createdOn);
+		keys.put("id", id);
+		return ScrollPosition.forward(keys);
+	}
+
+	Sort.Direction getDirection() {
+		return direction;
+	}
+
+	LocalDateTime getCreatedOn() {
+		return createdOn;
+	}
+
+	Long getId() {
+		return id;
+	}
+}
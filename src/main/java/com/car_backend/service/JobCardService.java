@@ -2,11 +2,13 @@ package com.car_backend.service;
 
 import java.util.List;
 
+import com.car_backend.dto.CursorPageDto;
 import com.car_backend.dto.jobCard.AddItemToJobCardDto;
 import com.car_backend.dto.jobCard.AssignMechanicDto;
 import com.car_backend.dto.jobCard.CreateJobCardDto;
 import com.car_backend.dto.jobCard.JobCardEvidenceDto;
 import com.car_backend.dto.jobCard.JobCardResponseDto;
+import com.car_backend.dto.jobCard.JobCardSummaryDto;
 import com.car_backend.dto.jobCard.MechanicWorkloadDto;
 import com.car_backend.entities.JobCardStatus;
 
@@ -46,6 +48,23 @@ public interface JobCardService {
 
 	List<JobCardResponseDto> getJobCardByStatus(JobCardStatus status);
 
+	CursorPageDto<JobCardResponseDto> getJobCardPage(Integer limit, String cursor, String sort);
+
+	CursorPageDto<JobCardResponseDto> getJobCardPageByManager(Long managerId, Integer limit, String cursor, String sort);
+
+	CursorPageDto<JobCardResponseDto> getJobCardPageByMechanic(Long mechanicId, Integer limit, String cursor,
+			String sort);
+
+	CursorPageDto<JobCardResponseDto> getJobCardPageByStatus(JobCardStatus status, Integer limit, String cursor,
+			String sort);
+
+	List<JobCardSummaryDto> getJobCardSummaries(Long managerId, Long mechanicId, JobCardStatus status);
+
+	CursorPageDto<JobCardSummaryDto> getJobCardSummaryPage(Long managerId, Long mechanicId, JobCardStatus status,
+			Integer limit, String cursor, String sort);
+
+	List<JobCardResponseDto> getRecentManagerJobCards(Long managerId);
+
 	List<JobCardResponseDto> getManagerJobCardsByStatus(Long managerId, JobCardStatus status);
 
 	List<JobCardResponseDto> getMechanicJobCardsByStatus(Long mechanicId, JobCardStatus status);
@@ -2,17 +2,26 @@ package com.car_backend.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.car_backend.dto.CursorPageDto;
 import com.car_backend.dto.jobCard.AddItemToJobCardDto;
 import com.car_backend.dto.jobCard.AssignMechanicDto;
 import com.car_backend.dto.jobCard.CreateJobCardDto;
 import com.car_backend.dto.jobCard.JobCardEvidenceDto;
 import com.car_backend.dto.jobCard.JobCardItemDto;
 import com.car_backend.dto.jobCard.JobCardResponseDto;
+import com.car_backend.dto.jobCard.JobCardSummaryDto;
 import com.car_backend.dto.jobCard.MechanicWorkloadDto;
 import com.car_backend.entities.Appointment;
 import com.car_backend.entities.Inventory;
@@ -25,12 +34,10 @@ import com.car_backend.entities.Status;
 import com.car_backend.entities.User;
 import com.car_backend.entities.Vehicle;
 import com.car_backend.exceptions.DuplicateJobCreationException;
-import com.car_backend.exceptions.InsufficientStockException;
 import com.car_backend.exceptions.InvalidOperationException;
 import com.car_backend.exceptions.InvalidRoleException;
 import com.car_backend.exceptions.JobCardNotFoundException;
 import com.car_backend.exceptions.ResourceNotFoundException;
-import com.car_backend.exceptions.StockConflictException;
 import com.car_backend.exceptions.UserNotFoundException;
 import com.car_backend.repository.AppointmentRepository;
 import com.car_backend.repository.InventoryRepository;
@@ -38,7 +45,6 @@ import com.car_backend.repository.JobCardItemRepository;
 import com.car_backend.repository.JobCardRepository;
 import com.car_backend.repository.UserRepository;
 
-import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -55,6 +61,11 @@ public class JobCardServiceImpl implements JobCardService {
 	private final InventoryRepository inventoryRepo;
 	private final JobCardItemRepository jobCardItemRepo;
 	private final InvoiceService invoiceService;
+	private final StatsCounterService statsCounterService;
+	private final StockReservationService stockReservationService;
+
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final int MAX_PAGE_SIZE = 100;
 
 	@Override
 	public JobCardResponseDto createJobCard(@Valid CreateJobCardDto dto) {
@@ -89,21 +100,22 @@ public class JobCardServiceImpl implements JobCardService {
 		jobCard.setEstimatedCompletionDate(dto.getEstimatedCompletionDate());
 		jobCard.setLaborCost(dto.getLaborCost());
 
-		// Process parts if provided
+		// Process parts if provided: one lookup for all lines; stock is held once the
+		// items are saved
 		if (dto.getParts() != null && !dto.getParts().isEmpty()) {
+			Map<Long, Inventory> inventoryItems = inventoryRepo
+					.findAllById(dto.getParts().stream().map(CreateJobCardDto.PartItem::getInventoryId).toList())
+					.stream().collect(Collectors.toMap(Inventory::getId, Function.identity()));
+
 			for (CreateJobCardDto.PartItem partDto : dto.getParts()) {
-				Inventory inventoryItem = inventoryRepo.findById(partDto.getInventoryId())
-						.orElseThrow(() -> new ResourceNotFoundException("inventory item does not exist"));
+				Inventory inventoryItem = inventoryItems.get(partDto.getInventoryId());
 
-				if (inventoryItem.isDeleted()) {
-					throw new InvalidOperationException("cannot use deleted inventory items");
+				if (inventoryItem == null) {
+					throw new ResourceNotFoundException("inventory item does not exist");
 				}
 
-				if (inventoryItem.getStockQuantity() < partDto.getQuantity()) {
-					throw new InsufficientStockException(
-							"Insufficient stock for " + inventoryItem.getItemName() + " available quantity is "
-									+ inventoryItem.getStockQuantity() + ", requested quantity is "
-									+ partDto.getQuantity());
+				if (inventoryItem.isDeleted()) {
+					throw new InvalidOperationException("cannot use deleted inventory items");
 				}
 
 				JobCardItem jobCardItem = new JobCardItem();
@@ -115,14 +127,14 @@ public class JobCardServiceImpl implements JobCardService {
 				jobCardItem.setTotalPrice(inventoryItem.getCurrentPrice() * partDto.getQuantity());
 
 				jobCard.getItems().add(jobCardItem);
-
-				// Deduct stock
-				inventoryItem.setStockQuantity(inventoryItem.getStockQuantity() - partDto.getQuantity());
-				inventoryRepo.save(inventoryItem);
 			}
 		}
 
+		// inventory rows are locked before the item inserts touch them
+		stockReservationService.checkAvailable(jobCard.getItems());
 		JobCard saved = jobCardRepo.save(jobCard);
+		stockReservationService.hold(saved, saved.getItems());
+		statsCounterService.recordJobCard(saved, null);
 		appointment.setStatus(Status.IN_PROGRESS);
 		appointmentRepo.save(appointment);
 
@@ -189,8 +201,13 @@ public class JobCardServiceImpl implements JobCardService {
 			throw new InvalidOperationException("cannot start work without mechanic.");
 		}
 
+		// throws InsufficientStockException if lapsed holds can no longer be covered
+		stockReservationService.pin(jobCard);
+
 		jobCard.setJobCardStatus(JobCardStatus.IN_PROGRESS);
+		jobCard.setStartTime(LocalDateTime.now());
 		JobCard updated = jobCardRepo.save(jobCard);
+		statsCounterService.recordJobCard(updated, JobCardStatus.CREATED);
 		return mapResponseToDto(updated);
 	}
 
@@ -199,10 +216,14 @@ public class JobCardServiceImpl implements JobCardService {
 		JobCard jobCard = jobCardRepo.findById(jobCardId)
 				.orElseThrow(() -> new ResourceNotFoundException("Job card not found"));
 
+		stockReservationService.commit(jobCard);
+
+		JobCardStatus previousStatus = jobCard.getJobCardStatus();
 		jobCard.setJobCardStatus(JobCardStatus.COMPLETED);
 		jobCard.setCompletionTime(LocalDateTime.now());
 
 		JobCard updated = jobCardRepo.save(jobCard);
+		statsCounterService.recordJobCard(updated, previousStatus);
 
 		Appointment appointment = jobCard.getAppointment();
 		appointment.setStatus(Status.COMPLETED);
@@ -233,18 +254,14 @@ public class JobCardServiceImpl implements JobCardService {
 			throw new IllegalArgumentException("Cancellation reason is required");
 		}
 
-		for (JobCardItem item : jobCard.getItems()) {
-			Inventory inventoryItem = item.getInventoryItem();
-			inventoryItem.setStockQuantity(inventoryItem.getStockQuantity() + item.getQuantity());
-			inventoryRepo.save(inventoryItem);
-
-			log.info("returned {} units of {} to inventory.", item.getQuantity(), inventoryItem.getItemName());
-		}
+		stockReservationService.releaseAll(jobCard);
 
+		JobCardStatus previousStatus = jobCard.getJobCardStatus();
 		jobCard.setJobCardStatus(JobCardStatus.CANCELLED);
 		jobCard.setCancellationReason(reason);
 
 		JobCard updated = jobCardRepo.save(jobCard);
+		statsCounterService.recordJobCard(updated, previousStatus);
 
 		Appointment appointment = jobCard.getAppointment();
 		appointment.setStatus(Status.CANCELLED);
@@ -272,12 +289,6 @@ public class JobCardServiceImpl implements JobCardService {
 			throw new InvalidOperationException("cannot use deleted inventory items");
 		}
 
-		if (inventoryItem.getStockQuantity() < dto.getQuantity()) {
-			throw new InsufficientStockException(
-					"Insufficient stock for " + inventoryItem.getItemName() + " available quantity is "
-							+ inventoryItem.getStockQuantity() + ", requested quantity is " + dto.getQuantity());
-		}
-
 		JobCardItem jobCardItem = new JobCardItem();
 		jobCardItem.setJobCard(jobCard);
 		jobCardItem.setInventoryItem(inventoryItem);
@@ -286,17 +297,12 @@ public class JobCardServiceImpl implements JobCardService {
 		jobCardItem.setSnapshotPrice(inventoryItem.getCurrentPrice());
 		jobCardItem.setTotalPrice(inventoryItem.getCurrentPrice() * dto.getQuantity());
 
-		jobCard.getItems().add(jobCardItem);
+		stockReservationService.checkAvailable(List.of(jobCardItem));
+		JobCardItem savedItem = jobCardItemRepo.save(jobCardItem);
+		jobCard.getItems().add(savedItem);
+		stockReservationService.hold(jobCard, List.of(savedItem));
 
-		try {
-			inventoryItem.setStockQuantity(inventoryItem.getStockQuantity() - dto.getQuantity());
-			inventoryRepo.save(inventoryItem);
-
-			log.info("Deducted {} units of {} from inventory. Remaining: {} ", dto.getQuantity(),
-					inventoryItem.getItemName(), inventoryItem.getStockQuantity());
-		} catch (OptimisticLockException e) {
-			throw new StockConflictException("Stock was modified by another user. Please refresh and try again.");
-		}
+		log.info("Held {} units of {} for job card {}.", dto.getQuantity(), inventoryItem.getItemName(), jobCardId);
 
 		JobCard updated = jobCardRepo.save(jobCard);
 
@@ -321,11 +327,7 @@ public class JobCardServiceImpl implements JobCardService {
 		JobCardItem itemToRemove = jobCardItemRepo.findByIdAndJobCardId(itemId, jobCardId)
 				.orElseThrow(() -> new JobCardNotFoundException("item not found in this job card"));
 
-		Inventory inventoryItem = itemToRemove.getInventoryItem();
-		inventoryItem.setStockQuantity(itemToRemove.getQuantity());
-		inventoryRepo.save(inventoryItem);
-
-		log.info("Returned {} units of {} to inventory.", itemToRemove.getQuantity(), inventoryItem.getItemName());
+		stockReservationService.release(jobCard, itemToRemove);
 
 		jobCard.getItems().remove(itemToRemove);
 
@@ -424,6 +426,92 @@ public class JobCardServiceImpl implements JobCardService {
 		return jobCard.stream().map(this::mapResponseToDto).collect(Collectors.toList());
 	}
 
+	@Override
+	public CursorPageDto<JobCardResponseDto> getJobCardPage(Integer limit, String cursor, String sort) {
+		return fetchPage(limit, cursor, sort, jobCardRepo::findAllBy);
+	}
+
+	@Override
+	public CursorPageDto<JobCardResponseDto> getJobCardPageByManager(Long managerId, Integer limit, String cursor,
+			String sort) {
+		User manager = userRepo.findById(managerId)
+				.orElseThrow(() -> new ResourceNotFoundException("Manager not found."));
+
+		if (manager.getUserRole() != Role.MANAGER) {
+			throw new InvalidRoleException("user: " + managerId + " does not have a manager role.");
+		}
+
+		return fetchPage(limit, cursor, sort,
+				(position, order, max) -> jobCardRepo.findByManagerId(managerId, position, order, max));
+	}
+
+	@Override
+	public CursorPageDto<JobCardResponseDto> getJobCardPageByMechanic(Long mechanicId, Integer limit, String cursor,
+			String sort) {
+		User mechanic = userRepo.findById(mechanicId)
+				.orElseThrow(() -> new ResourceNotFoundException("mechanic not found"));
+
+		if (mechanic.getUserRole() != Role.MECHANIC) {
+			throw new InvalidRoleException("user " + mechanicId + " is not a mechanic.");
+		}
+
+		return fetchPage(limit, cursor, sort,
+				(position, order, max) -> jobCardRepo.findByMechanicId(mechanicId, position, order, max));
+	}
+
+	@Override
+	public CursorPageDto<JobCardResponseDto> getJobCardPageByStatus(JobCardStatus status, Integer limit,
+			String cursor, String sort) {
+		return fetchPage(limit, cursor, sort,
+				(position, order, max) -> jobCardRepo.findByJobCardStatus(status, position, order, max));
+	}
+
+	@Override
+	public List<JobCardResponseDto> getRecentManagerJobCards(Long managerId) {
+		List<JobCard> jobCards = jobCardRepo.findTop5ByManagerIdOrderByCreatedOnDescIdDesc(managerId);
+		return jobCards.stream().map(this::mapResponseToDto).collect(Collectors.toList());
+	}
+
+	@Override
+	public List<JobCardSummaryDto> getJobCardSummaries(Long managerId, Long mechanicId, JobCardStatus status) {
+		validateSummaryFilter(managerId, mechanicId);
+		return jobCardRepo.findSummariesNewestFirst(managerId, mechanicId, status, null, null, Limit.unlimited());
+	}
+
+	@Override
+	public CursorPageDto<JobCardSummaryDto> getJobCardSummaryPage(Long managerId, Long mechanicId,
+			JobCardStatus status, Integer limit, String cursor, String sort) {
+		validateSummaryFilter(managerId, mechanicId);
+		int pageSize = resolvePageSize(limit);
+
+		JobCardCursor after = cursor == null || cursor.isBlank() ? null : JobCardCursor.decode(cursor);
+		Sort.Direction direction = after != null ? after.getDirection() : parseSortDirection(sort);
+		LocalDateTime afterCreatedOn = after != null ? after.getCreatedOn() : null;
+		Long afterId = after != null ? after.getId() : null;
+
+		// fetch one extra row to learn whether another page exists
+		Limit window = Limit.of(pageSize + 1);
+		List<JobCardSummaryDto> rows = direction.isAscending()
+				? jobCardRepo.findSummariesOldestFirst(managerId, mechanicId, status, afterCreatedOn, afterId, window)
+				: jobCardRepo.findSummariesNewestFirst(managerId, mechanicId, status, afterCreatedOn, afterId, window);
+
+		boolean hasMore = rows.size() > pageSize;
+		List<JobCardSummaryDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+		String nextCursor = null;
+		if (hasMore) {
+			JobCardSummaryDto last = items.get(items.size() - 1);
+			nextCursor = new JobCardCursor(direction, last.getCreatedAt(), last.getId()).encode();
+		}
+
+		return CursorPageDto.<JobCardSummaryDto>builder()
+				.items(items)
+				.nextCursor(nextCursor)
+				.hasMore(hasMore)
+				.limit(pageSize)
+				.sort(direction.name().toLowerCase())
+				.build();
+	}
+
 	@Override
 	public List<JobCardResponseDto> getManagerJobCardsByStatus(Long managerId, JobCardStatus status) {
 		User manager = userRepo.findById(managerId)
@@ -453,26 +541,26 @@ public class JobCardServiceImpl implements JobCardService {
 
 	@Override
 	public Long getJobCardCount() {
-		return jobCardRepo.count();
+		return statsCounterService.countJobCards(null, null);
 
 	}
 
 	@Override
 	public Long getInProgressCount() {
 
-		return jobCardRepo.countByJobCardStatus(JobCardStatus.IN_PROGRESS);
+		return statsCounterService.countJobCards(null, JobCardStatus.IN_PROGRESS);
 	}
 
 	@Override
 	public Long getCompletedCount() {
 
-		return jobCardRepo.countByJobCardStatus(JobCardStatus.COMPLETED);
+		return statsCounterService.countJobCards(null, JobCardStatus.COMPLETED);
 	}
 
 	@Override
 	public Long getManagerJobCardCount(Long managerId) {
 
-		return jobCardRepo.countByManagerId(managerId);
+		return statsCounterService.countJobCards(managerId, null);
 	}
 
 	@Override
@@ -484,7 +572,7 @@ public class JobCardServiceImpl implements JobCardService {
 	@Override
 	public Long countManagerJobCardByStatus(Long managerId, JobCardStatus status) {
 
-		return jobCardRepo.countByManagerIdAndJobCardStatus(managerId, status);
+		return statsCounterService.countJobCards(managerId, status);
 	}
 
 	@Override
@@ -505,22 +593,21 @@ public class JobCardServiceImpl implements JobCardService {
 
 	@Override
 	public List<MechanicWorkloadDto> getManagerTeamWorkload(Long managerId) {
-		User manager = userRepo.findById(managerId)
-				.orElseThrow(() -> new ResourceNotFoundException("Manager not found"));
-
-		List<User> mechanics = userRepo.findByManager(manager);
-
-		return mechanics.stream().map(m -> {
-			long activeJobs = jobCardRepo.countByMechanicIdAndJobCardStatus(m.getId(), JobCardStatus.IN_PROGRESS);
-			long totalJobs = jobCardRepo.countByMechanicId(m.getId());
+		if (!userRepo.existsById(managerId)) {
+			throw new ResourceNotFoundException("Manager not found");
+		}
 
-			return MechanicWorkloadDto.builder()
-					.mechanicId(m.getId())
-					.mechanicName(m.getUserName())
-					.activeJobs(activeJobs)
-					.totalJobs(totalJobs)
-					.build();
-		}).collect(Collectors.toList());
+		return jobCardRepo.findTeamWorkload(managerId).stream()
+				.map(w -> MechanicWorkloadDto.builder()
+						.mechanicId(w.getMechanicId())
+						.mechanicName(w.getMechanicName())
+						.activeJobs(w.getActiveJobs())
+						.totalJobs(w.getTotalJobs())
+						.createdJobs(w.getCreatedJobs())
+						.completedJobs(w.getCompletedJobs())
+						.avgCompletionMinutes(w.getAvgCompletionMinutes())
+						.build())
+				.collect(Collectors.toList());
 	}
 
 	@Override
@@ -537,6 +624,73 @@ public class JobCardServiceImpl implements JobCardService {
 
 	// ------------------Helper Methods-------------------
 
+	@FunctionalInterface
+	private interface WindowQuery {
+		Window<JobCard> fetch(ScrollPosition position, Sort sort, Limit limit);
+	}
+
+	private CursorPageDto<JobCardResponseDto> fetchPage(Integer limit, String cursor, String sort,
+			WindowQuery query) {
+		int pageSize = resolvePageSize(limit);
+
+		// a cursor remembers the direction it was issued for, so ?sort= only matters
+		// on the first page
+		JobCardCursor after = cursor == null || cursor.isBlank() ? null : JobCardCursor.decode(cursor);
+		Sort.Direction direction = after != null ? after.getDirection() : parseSortDirection(sort);
+		ScrollPosition position = after != null ? after.toScrollPosition() : ScrollPosition.keyset();
+
+		Window<JobCard> window = query.fetch(position, Sort.by(direction, "createdOn", "id"),
+				Limit.of(pageSize));
+
+		String nextCursor = null;
+		if (window.hasNext() && !window.isEmpty()) {
+			Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+			nextCursor = new JobCardCursor(direction, (LocalDateTime) keys.get("createdOn"), (Long) keys.get("id"))
+					.encode();
+		}
+
+		return CursorPageDto.<JobCardResponseDto>builder()
+				.items(window.stream().map(this::mapResponseToDto).collect(Collectors.toList()))
+				.nextCursor(nextCursor)
+				.hasMore(nextCursor != null)
+				.limit(pageSize)
+				.sort(direction.name().toLowerCase())
+				.build();
+	}
+
+	private void validateSummaryFilter(Long managerId, Long mechanicId) {
+		if (managerId != null) {
+			User manager = userRepo.findById(managerId)
+					.orElseThrow(() -> new ResourceNotFoundException("Manager not found."));
+			if (manager.getUserRole() != Role.MANAGER) {
+				throw new InvalidRoleException("user: " + managerId + " does not have a manager role.");
+			}
+		}
+		if (mechanicId != null) {
+			User mechanic = userRepo.findById(mechanicId)
+					.orElseThrow(() -> new ResourceNotFoundException("mechanic not found"));
+			if (mechanic.getUserRole() != Role.MECHANIC) {
+				throw new InvalidRoleException("user " + mechanicId + " is not a mechanic.");
+			}
+		}
+	}
+
+	private int resolvePageSize(Integer limit) {
+		int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			throw new InvalidOperationException("limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return pageSize;
+	}
+
+	private Sort.Direction parseSortDirection(String sort) {
+		if (sort == null || sort.isBlank()) {
+			return Sort.Direction.DESC;
+		}
+		return Sort.Direction.fromOptionalString(sort)
+				.orElseThrow(() -> new InvalidOperationException("sort must be either asc or desc"));
+	}
+
 	private User validateAndGetMechanic(Long mechanicId, Long managerId) {
 		User mechanic = userRepo.findById(mechanicId)
 				.orElseThrow(() -> new UserNotFoundException("mechanic not found"));
@@ -1,7 +1,20 @@
 package com.car_backend.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import com.car_backend.entities.Invoice;
 
 public interface PdfService {
-    byte[] generateInvoicePdf(Invoice invoice);
+
+    /**
+     * Render straight into the given stream, which is left open
+     */
+    void writeInvoicePdf(Invoice invoice, OutputStream out) throws IOException;
+
+    /**
+     * Hash of everything writeInvoicePdf puts on the page; equal fingerprints
+     * mean byte-for-byte interchangeable documents
+     */
+    String renderFingerprint(Invoice invoice);
 }
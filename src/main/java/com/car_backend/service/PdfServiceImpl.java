@@ -1,7 +1,12 @@
 package com.car_backend.service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
@@ -12,48 +17,86 @@ import com.car_backend.entities.JobCardItem;
 import com.car_backend.entities.User;
 import com.car_backend.entities.Vehicle;
 import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
 import com.lowagie.text.Element;
 import com.lowagie.text.Font;
-import com.lowagie.text.FontFactory;
 import com.lowagie.text.Paragraph;
 import com.lowagie.text.Phrase;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class PdfServiceImpl implements PdfService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy HH:mm");
 
+    // bump whenever the layout changes, so cached documents are not served for the new layout
+    private static final int RENDER_VERSION = 1;
+
+    private final InvoicePdfTemplate template;
+
     @Override
-    public byte[] generateInvoicePdf(Invoice invoice) {
+    public String renderFingerprint(Invoice invoice) {
+        JobCard jobCard = invoice.getJobCard();
+        Vehicle vehicle = (jobCard != null && jobCard.getAppointment() != null)
+                ? jobCard.getAppointment().getVehicleDetails()
+                : null;
+        User customer = (vehicle != null) ? vehicle.getCustomer() : null;
+
+        StringBuilder fields = new StringBuilder();
+        append(fields, RENDER_VERSION, invoice.getInvoiceNumber(), invoice.getPaidAt(), invoice.getPaymentStatus(),
+                invoice.getRazorpayOrderId(), invoice.getBaseAmount(), invoice.getLaborCost(),
+                invoice.getTaxPercentage(), invoice.getTaxAmount(), invoice.getTotalAmount());
+        if (customer != null) {
+            append(fields, customer.getUserName(), customer.getEmail(), customer.getMobile());
+        }
+        if (vehicle != null) {
+            append(fields, vehicle.getLicensePlate(), vehicle.getBrand(), vehicle.getModel());
+        }
+        if (jobCard != null && jobCard.getItems() != null) {
+            for (JobCardItem item : jobCard.getItems()) {
+                append(fields, item.getSnapshotItemName(), item.getQuantity(), item.getSnapshotPrice(),
+                        item.getTotalPrice());
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fields.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void append(StringBuilder fields, Object... values) {
+        for (Object value : values) {
+            fields.append(value).append('\u0000');
+        }
+    }
+
+    @Override
+    public void writeInvoicePdf(Invoice invoice, OutputStream out) throws IOException {
         Document document = new Document();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
         try {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            // the caller owns the stream (servlet response, cache file)
+            writer.setCloseStream(false);
             document.open();
 
-            // Fonts
-            Font headFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24);
-            Font subHeadFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
-            Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 11);
-            Font boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11);
+            // Fonts, built once by the template
+            Font normalFont = template.getNormalFont();
+            Font boldFont = template.getBoldFont();
 
             // Header
-            Paragraph header = new Paragraph("AUTOSERVE", headFont);
-            header.setAlignment(Element.ALIGN_CENTER);
-            header.setSpacingAfter(20);
-            document.add(header);
-
-            Paragraph title = new Paragraph("TAX INVOICE", subHeadFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(20);
-            document.add(title);
+            document.add(template.getHeader());
+            document.add(template.getTitle());
 
             // Invoice Details Table
             PdfPTable detailsTable = new PdfPTable(2);
@@ -110,14 +153,8 @@ public class PdfServiceImpl implements PdfService {
 
             // Items Table
             if (jobCard != null && jobCard.getItems() != null && !jobCard.getItems().isEmpty()) {
-                document.add(new Paragraph("Service/Parts Details:", boldFont));
-                PdfPTable itemTable = new PdfPTable(4);
-                itemTable.setWidthPercentage(100);
-                itemTable.setSpacingBefore(10);
-                itemTable.setSpacingAfter(20);
-                itemTable.setWidths(new float[] { 4, 1, 2, 2 });
-
-                addTableHeader(itemTable, boldFont);
+                document.add(template.getItemsHeading());
+                PdfPTable itemTable = template.newItemTable();
 
                 List<JobCardItem> items = jobCard.getItems();
                 for (JobCardItem item : items) {
@@ -146,18 +183,14 @@ public class PdfServiceImpl implements PdfService {
             document.add(summaryTable);
 
             // Footer
-            Paragraph footer = new Paragraph("Thank you for choosing AutoServe!\nVisit us again.", normalFont);
-            footer.setAlignment(Element.ALIGN_CENTER);
-            document.add(footer);
+            document.add(template.getFooter());
 
             document.close();
             log.info("PDF generated successfully for invoice: {}", invoice.getInvoiceNumber());
 
-        } catch (Exception e) {
-            log.error("Error generating PDF invoice", e);
+        } catch (DocumentException e) {
+            throw new IOException("Could not render invoice " + invoice.getInvoiceNumber(), e);
         }
-
-        return out.toByteArray();
     }
 
     private PdfPCell getNoBorderCell(String text, Font font) {
@@ -167,17 +200,6 @@ public class PdfServiceImpl implements PdfService {
         return cell;
     }
 
-    private void addTableHeader(PdfPTable table, Font font) {
-        String[] headers = { "Description", "Qty", "Price", "Total" };
-        for (String headerTitle : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(headerTitle, font));
-            cell.setBackgroundColor(java.awt.Color.LIGHT_GRAY);
-            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            cell.setPadding(5);
-            table.addCell(cell);
-        }
-    }
-
     private void addSummaryRow(PdfPTable table, String label, String value, Font font) {
         PdfPCell labelCell = new PdfPCell(new Phrase(label, font));
         labelCell.setBorder(PdfPCell.NO_BORDER);
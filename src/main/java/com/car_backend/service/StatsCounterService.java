@@ -0,0 +1,23 @@
+package com.car_backend.service;
+
+import com.car_backend.entities.Invoice;
+import com.car_backend.entities.JobCard;
+import com.car_backend.entities.JobCardStatus;
+import com.car_backend.entities.PaymentStatus;
+
+public interface StatsCounterService {
+
+	// previousStatus is null for a newly created job card / invoice
+	void recordJobCard(JobCard jobCard, JobCardStatus previousStatus);
+
+	void recordInvoice(Invoice invoice, PaymentStatus previousStatus);
+
+	// managerId and status are optional filters
+	long countJobCards(Long managerId, JobCardStatus status);
+
+	long countInvoices(Long managerId, PaymentStatus status);
+
+	double sumInvoiceAmount(Long managerId, PaymentStatus status);
+
+	void rebuild();
+}
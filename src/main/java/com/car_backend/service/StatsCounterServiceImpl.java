@@ -0,0 +1,123 @@
+package com.car_backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.car_backend.entities.Invoice;
+import com.car_backend.entities.JobCard;
+import com.car_backend.entities.JobCardStatus;
+import com.car_backend.entities.PaymentStatus;
+import com.car_backend.entities.StatsCounterType;
+import com.car_backend.repository.JobCardRepository;
+import com.car_backend.repository.StatsCounterRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCounterServiceImpl implements StatsCounterService {
+
+	private final StatsCounterRepository counterRepo;
+	private final JobCardRepository jobCardRepo;
+	private final PlatformTransactionManager transactionManager;
+
+	// a status change moves one unit (and, for invoices, the invoice amount) out of
+	// the previous status bucket and into the new one. runs in the caller's
+	// transaction so the counters commit or roll back with the state change.
+	@Override
+	public void recordJobCard(JobCard jobCard, JobCardStatus previousStatus) {
+		JobCardStatus status = jobCard.getJobCardStatus();
+		if (status == previousStatus) {
+			return;
+		}
+
+		Long managerId = jobCard.getManager().getId();
+		LocalDate day = statDay(jobCard.getCreatedOn());
+
+		if (previousStatus != null) {
+			counterRepo.increment(StatsCounterType.JOB_CARD.name(), managerId, previousStatus.name(), day, -1, 0);
+		}
+		counterRepo.increment(StatsCounterType.JOB_CARD.name(), managerId, status.name(), day, 1, 0);
+	}
+
+	@Override
+	public void recordInvoice(Invoice invoice, PaymentStatus previousStatus) {
+		PaymentStatus status = invoice.getPaymentStatus();
+		if (status == previousStatus) {
+			return;
+		}
+
+		Long managerId = invoice.getJobCard().getManager().getId();
+		LocalDate day = statDay(invoice.getCreatedOn());
+		double amount = invoice.getTotalAmount() != null ? invoice.getTotalAmount() : 0.0;
+
+		if (previousStatus != null) {
+			counterRepo.increment(StatsCounterType.INVOICE.name(), managerId, previousStatus.name(), day, -1, -amount);
+		}
+		counterRepo.increment(StatsCounterType.INVOICE.name(), managerId, status.name(), day, 1, amount);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countJobCards(Long managerId, JobCardStatus status) {
+		return counterRepo.sumCount(StatsCounterType.JOB_CARD, managerId, status != null ? status.name() : null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countInvoices(Long managerId, PaymentStatus status) {
+		return counterRepo.sumCount(StatsCounterType.INVOICE, managerId, status != null ? status.name() : null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public double sumInvoiceAmount(Long managerId, PaymentStatus status) {
+		return counterRepo.sumAmount(StatsCounterType.INVOICE, managerId, status != null ? status.name() : null);
+	}
+
+	// recomputes every counter from job_card and invoice. meant for the admin
+	// endpoint after a data fix or when counters are suspected to have drifted.
+	@Override
+	public void rebuild() {
+		counterRepo.deleteAllInBatch();
+		int jobCardRows = counterRepo.rebuildJobCardCounters();
+		int invoiceRows = counterRepo.rebuildInvoiceCounters();
+
+		log.info("stats counters rebuilt: {} job card rows, {} invoice rows", jobCardRows, invoiceRows);
+	}
+
+	// first start after the counters table is introduced. instances starting together
+	// can all see an empty table; whichever commits first wins and the others fail on
+	// the unique key (or lose a lock wait) in their own transaction, which is not
+	// allowed to abort startup
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void rebuildIfEmpty() {
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				if (counterRepo.count() == 0 && jobCardRepo.count() > 0) {
+					rebuild();
+				}
+			});
+		} catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+			log.info("stats counters already rebuilt by another instance: {}", e.getMessage());
+		}
+	}
+
+	private LocalDate statDay(LocalDateTime createdOn) {
+		return createdOn != null ? createdOn.toLocalDate() : LocalDate.now();
+	}
+}
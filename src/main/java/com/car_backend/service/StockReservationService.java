@@ -0,0 +1,37 @@
+package com.car_backend.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.car_backend.entities.JobCard;
+import com.car_backend.entities.JobCardItem;
+
+public interface StockReservationService {
+
+	// locks the items' inventory rows and checks the quantities against available
+	// stock; call before the items are inserted, in the transaction that holds them
+	void checkAvailable(List<JobCardItem> items);
+
+	// holds stock for persisted items; throws InsufficientStockException when the
+	// available-to-promise quantity is short
+	void hold(JobCard jobCard, List<JobCardItem> items);
+
+	// work has started: the job card's holds no longer expire. lapsed holds are
+	// taken again first; throws InsufficientStockException when they cannot be
+	// covered any more
+	void pin(JobCard jobCard);
+
+	// job completed: held quantities are taken out of stock. lapsed holds are taken
+	// again first, as in pin
+	void commit(JobCard jobCard);
+
+	void release(JobCard jobCard, JobCardItem item);
+
+	void releaseAll(JobCard jobCard);
+
+	// active held quantity per inventory id; ids without holds are absent
+	Map<Long, Long> heldQuantities(Collection<Long> inventoryIds);
+
+	void expireHolds();
+}
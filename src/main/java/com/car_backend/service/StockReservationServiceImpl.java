@@ -0,0 +1,219 @@
+package com.car_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.car_backend.entities.Inventory;
+import com.car_backend.entities.JobCard;
+import com.car_backend.entities.JobCardItem;
+import com.car_backend.entities.ReservationStatus;
+import com.car_backend.entities.StockReservation;
+import com.car_backend.exceptions.InsufficientStockException;
+import com.car_backend.repository.InventoryRepository;
+import com.car_backend.repository.StockReservationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// parts on an open job card are held in the stock_reservation ledger instead of
+// being deducted from inventory straight away. the inventory row is only locked
+// (never written) while a hold is taken, and written once when the job completes.
+// callers lock and check before inserting job card items, so the inventory row
+// locks come before the item inserts' foreign key checks on the same rows.
+// job card items created before the ledger have no hold; their stock was already
+// deducted, so they are returned to inventory on removal/cancel as before.
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationServiceImpl implements StockReservationService {
+
+	private final StockReservationRepository reservationRepo;
+	private final InventoryRepository inventoryRepo;
+
+	@Value("${inventory.hold.ttl-hours:72}")
+	private long holdTtlHours;
+
+	@Override
+	public void checkAvailable(List<JobCardItem> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Integer> requested = new TreeMap<>();
+		Map<Long, Inventory> inventoryItems = new TreeMap<>();
+		for (JobCardItem item : items) {
+			requested.merge(item.getInventoryItem().getId(), item.getQuantity(), Integer::sum);
+			inventoryItems.put(item.getInventoryItem().getId(), item.getInventoryItem());
+		}
+		checkAvailable(requested, inventoryItems);
+	}
+
+	// the check is repeated here so a hold is never written unchecked; when the caller
+	// already checked, the rows are locked by this transaction and nothing has changed
+	@Override
+	public void hold(JobCard jobCard, List<JobCardItem> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+
+		checkAvailable(items);
+
+		LocalDateTime expiresAt = LocalDateTime.now().plusHours(holdTtlHours);
+		List<StockReservation> holds = items.stream().map(item -> {
+			StockReservation hold = new StockReservation();
+			hold.setInventory(item.getInventoryItem());
+			hold.setJobCard(jobCard);
+			hold.setJobCardItemId(item.getId());
+			hold.setQuantity(item.getQuantity());
+			hold.setStatus(ReservationStatus.HELD);
+			hold.setExpiresAt(expiresAt);
+			return hold;
+		}).collect(Collectors.toList());
+
+		reservationRepo.saveAll(holds);
+	}
+
+	@Override
+	public void pin(JobCard jobCard) {
+		renewLapsed(jobCard).forEach(hold -> hold.setExpiresAt(null));
+	}
+
+	@Override
+	public void commit(JobCard jobCard) {
+		List<StockReservation> holds = renewLapsed(jobCard);
+
+		if (holds.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Integer> quantities = new TreeMap<>();
+		for (StockReservation hold : holds) {
+			quantities.merge(hold.getInventory().getId(), hold.getQuantity(), Integer::sum);
+		}
+
+		List<Long> shortItems = inventoryRepo.decrementStockBatch(quantities);
+		if (!shortItems.isEmpty()) {
+			Inventory inventoryItem = holds.stream().map(StockReservation::getInventory)
+					.filter(inventory -> inventory.getId().equals(shortItems.get(0))).findFirst().get();
+			throw new InsufficientStockException("Insufficient stock for " + inventoryItem.getItemName()
+					+ " to complete job card " + jobCard.getId() + ", required quantity is "
+					+ quantities.get(inventoryItem.getId()));
+		}
+
+		holds.forEach(hold -> hold.setStatus(ReservationStatus.COMMITTED));
+		log.info("committed {} stock holds for job card {}", holds.size(), jobCard.getId());
+	}
+
+	@Override
+	public void release(JobCard jobCard, JobCardItem item) {
+		release(item, reservationRepo.findByJobCardItemId(item.getId()));
+	}
+
+	@Override
+	public void releaseAll(JobCard jobCard) {
+		Map<Long, StockReservation> holds = reservationRepo.findByJobCardId(jobCard.getId()).stream()
+				.collect(Collectors.toMap(StockReservation::getJobCardItemId, Function.identity()));
+
+		for (JobCardItem item : jobCard.getItems()) {
+			release(item, Optional.ofNullable(holds.get(item.getId())));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, Long> heldQuantities(Collection<Long> inventoryIds) {
+		if (inventoryIds.isEmpty()) {
+			return Map.of();
+		}
+		return reservationRepo.sumActiveHolds(inventoryIds, LocalDateTime.now()).stream()
+				.collect(Collectors.toMap(StockReservationRepository.HeldQuantity::getInventoryId,
+						StockReservationRepository.HeldQuantity::getQuantity));
+	}
+
+	// holds already stop counting once expiresAt passes; this only moves them to
+	// EXPIRED so the active-hold queries stay small
+	@Override
+	@Scheduled(fixedDelayString = "${inventory.hold.sweep-interval-ms:300000}")
+	public void expireHolds() {
+		int expired = reservationRepo.expireHolds(LocalDateTime.now());
+		if (expired > 0) {
+			log.info("expired {} stock holds", expired);
+		}
+	}
+
+	// locks the inventory rows (in id order, so concurrent holds lock in the same
+	// order) and checks the requested quantities against stock minus active holds
+	private void checkAvailable(Map<Long, Integer> requested, Map<Long, Inventory> inventoryItems) {
+		Map<Long, Integer> stock = inventoryRepo.lockStockLevels(requested.keySet()).stream()
+				.collect(Collectors.toMap(InventoryRepository.StockLevel::getId,
+						InventoryRepository.StockLevel::getStockQuantity));
+		Map<Long, Long> held = heldQuantities(requested.keySet());
+
+		requested.forEach((inventoryId, quantity) -> {
+			long available = stock.getOrDefault(inventoryId, 0) - held.getOrDefault(inventoryId, 0L);
+			if (available < quantity) {
+				throw new InsufficientStockException("Insufficient stock for "
+						+ inventoryItems.get(inventoryId).getItemName() + " available quantity is " + available
+						+ ", requested quantity is " + quantity);
+			}
+		});
+	}
+
+	// the job card's open holds, all HELD on return. holds that lapsed while the card
+	// waited (EXPIRED, or past expiresAt but not yet swept) no longer count against
+	// stock, so they are taken again against current availability first
+	private List<StockReservation> renewLapsed(JobCard jobCard) {
+		LocalDateTime now = LocalDateTime.now();
+		List<StockReservation> holds = reservationRepo.findByJobCardId(jobCard.getId()).stream()
+				.filter(hold -> hold.getStatus() == ReservationStatus.HELD
+						|| hold.getStatus() == ReservationStatus.EXPIRED)
+				.collect(Collectors.toList());
+		List<StockReservation> lapsed = holds.stream()
+				.filter(hold -> hold.getStatus() == ReservationStatus.EXPIRED
+						|| (hold.getExpiresAt() != null && !hold.getExpiresAt().isAfter(now)))
+				.collect(Collectors.toList());
+
+		if (!lapsed.isEmpty()) {
+			Map<Long, Integer> requested = new TreeMap<>();
+			Map<Long, Inventory> inventoryItems = new TreeMap<>();
+			for (StockReservation hold : lapsed) {
+				requested.merge(hold.getInventory().getId(), hold.getQuantity(), Integer::sum);
+				inventoryItems.put(hold.getInventory().getId(), hold.getInventory());
+			}
+			checkAvailable(requested, inventoryItems);
+
+			LocalDateTime expiresAt = now.plusHours(holdTtlHours);
+			lapsed.forEach(hold -> {
+				hold.setStatus(ReservationStatus.HELD);
+				hold.setExpiresAt(expiresAt);
+			});
+			log.info("re-acquired {} lapsed stock holds for job card {}", lapsed.size(), jobCard.getId());
+		}
+		return holds;
+	}
+
+	private void release(JobCardItem item, Optional<StockReservation> hold) {
+		if (hold.isEmpty()) {
+			inventoryRepo.incrementStock(item.getInventoryItem().getId(), item.getQuantity());
+			log.info("returned {} units of {} to inventory.", item.getQuantity(),
+					item.getInventoryItem().getItemName());
+			return;
+		}
+
+		if (hold.get().getStatus() == ReservationStatus.HELD) {
+			hold.get().setStatus(ReservationStatus.RELEASED);
+		}
+	}
+}
@@ -15,6 +15,8 @@ import com.car_backend.entities.User;
 import com.car_backend.exceptions.ResourceAlreadyExists;
 import com.car_backend.exceptions.ResourceNotFoundException;
 import com.car_backend.repository.UserRepository;
+import com.car_backend.security.jwt.TokenRevocationRegistry;
+import com.car_backend.security.service.CustomUserDetailsService;
 import com.car_backend.service.smtp.EmailService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,8 @@ public class UserServiceImpl implements UserService {
 	private final ModelMapper mapper;
 	private final PasswordEncoder encoder;
 	private final EmailService emailService;
+	private final CustomUserDetailsService userDetailsService;
+	private final TokenRevocationRegistry revocationRegistry;
 
 	@Override
 	public UserResponseDto createUser(CreateUserDto dto) {
@@ -94,6 +98,10 @@ public class UserServiceImpl implements UserService {
 		if (dto.getMobile() != null)
 			user.setMobile(dto.getMobile());
 
+		// tokens carry the role, so a role change or deactivation revokes them
+		boolean revoke = (dto.getUserRole() != null && dto.getUserRole() != user.getUserRole())
+				|| (Boolean.FALSE.equals(dto.getIsActive()) && user.isActive());
+
 		if (dto.getUserRole() != null)
 			user.setUserRole(dto.getUserRole());
 
@@ -109,7 +117,11 @@ public class UserServiceImpl implements UserService {
 			user.setManager(newManager);
 		}
 
+		if (revoke)
+			revokeTokens(user);
+
 		User savedUser = userRepo.save(user);
+		userDetailsService.evictUser(targetUserId);
 		return mapUserToResponseDto(savedUser);
 	}
 
@@ -119,7 +131,9 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new ResourceNotFoundException("user with specified id not found."));
 
 		user.setActive(false);
+		revokeTokens(user);
 		userRepo.save(user);
+		userDetailsService.evictUser(userId);
 
 	}
 
@@ -213,9 +227,15 @@ public class UserServiceImpl implements UserService {
 
 		mechanic.setManager(manager);
 		userRepo.save(mechanic);
+		userDetailsService.evictUser(mechanicId);
 		return mapUserToResponseDto(mechanic);
 	}
 
+	private void revokeTokens(User user) {
+		user.setTokenVersion(user.getTokenVersion() + 1);
+		revocationRegistry.revoke(user.getId(), user.getTokenVersion());
+	}
+
 	private UserResponseDto mapUserToResponseDto(User user) {
 		UserResponseDto response = mapper.map(user, UserResponseDto.class);
 		response.setUserId(user.getId());
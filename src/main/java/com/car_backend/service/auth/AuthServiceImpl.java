@@ -3,6 +3,7 @@ package com.car_backend.service.auth;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.springframework.stereotype.Service;
 
@@ -15,8 +16,10 @@ import com.car_backend.entities.Role;
 import com.car_backend.entities.User;
 import com.car_backend.exceptions.DuplicateEmailException;
 import com.car_backend.exceptions.InvalidCredentialsException;
+import com.car_backend.exceptions.ServiceBusyException;
 import com.car_backend.repository.UserRepository;
 import com.car_backend.security.jwt.JwtUtil;
+import com.car_backend.security.service.CustomUserDetailsService;
 import com.car_backend.service.UserServiceImpl;
 
 import lombok.RequiredArgsConstructor;
@@ -29,7 +32,8 @@ public class AuthServiceImpl implements AuthService {
 
 	private final UserServiceImpl userServiceImpl;
 	private final UserRepository userRepository;
-	// private final PasswordEncoder passwordEncoder;
+	private final PasswordEncoder passwordEncoder;
+	private final CustomUserDetailsService userDetailsService;
 	private final JwtUtil jwtUtil;
 
 	private final AuthenticationManager authenticationManager;
@@ -56,7 +60,8 @@ public class AuthServiceImpl implements AuthService {
 		log.info("User registered successfully: {}", savedUser.getEmail());
 
 		// Generate JWT token
-		String token = jwtUtil.generateToken(savedUser.getUserId(), savedUser.getEmail(), savedUser.getUserRole());
+		// a new user starts at token version 0
+		String token = jwtUtil.generateToken(savedUser.getUserId(), savedUser.getEmail(), savedUser.getUserRole(), 0);
 
 		// Return response with token
 		return AuthResponseDto.builder().token(token).tokenType("Bearer").userId(savedUser.getUserId())
@@ -71,7 +76,13 @@ public class AuthServiceImpl implements AuthService {
 		try {
 			authentication = authenticationManager
 					.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+		} catch (ServiceBusyException e) {
+			// hashing pool is full, not a credentials problem
+			throw e;
 		} catch (Exception e) {
+			if (e.getCause() instanceof ServiceBusyException busy) {
+				throw busy;
+			}
 			throw new InvalidCredentialsException("Invalid email or password");
 		}
 
@@ -82,7 +93,21 @@ public class AuthServiceImpl implements AuthService {
 		User user = userRepository.findByEmail(email)
 				.orElseThrow(() -> new InvalidCredentialsException("User not found"));
 
-		String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getUserRole());
+		// the password was just verified, so an outdated hash can be replaced now
+		if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+			try {
+				user.setPassword(passwordEncoder.encode(request.getPassword()));
+				userRepository.save(user);
+				userDetailsService.evictUser(user.getId());
+				log.info("Upgraded password hash for user {}", user.getId());
+			} catch (ServiceBusyException e) {
+				// not worth failing the login over, retried on the next one
+				log.debug("Skipped password hash upgrade for user {}: {}", user.getId(), e.getMessage());
+			}
+		}
+
+		String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getUserRole(),
+				user.getTokenVersion());
 
 		return AuthResponseDto.builder().token(token).tokenType("Bearer").userId(user.getId()).name(user.getUserName())
 				.email(user.getEmail()).phone(user.getMobile()).role(user.getUserRole()).build();
@@ -0,0 +1,269 @@
+package com.car_backend.service.smtp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.car_backend.entities.EmailOutbox;
+import com.car_backend.entities.EmailOutboxStatus;
+import com.car_backend.repository.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+// drains the email outbox in the background. a batch is claimed in a short
+// transaction by pushing nextAttemptAt out by the lease, so the rows are not
+// picked up again while they are being sent; if the instance dies mid-batch the
+// lease runs out and another run retries them. SMTP is never called inside a
+// database transaction. delivered rows are deleted once they pass the retention
+// period.
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+	private static final String DIGEST_SUBJECT = "Auto Serve - %d appointment updates";
+	private static final String DIGEST_HEADER = "<p style=\"font-family: Arial, sans-serif;\">"
+			+ "You have <b>%d</b> appointment updates from Auto Serve.</p>";
+	private static final String DIGEST_SEPARATOR = "<br><hr><br>";
+
+	private final EmailOutboxRepository outboxRepo;
+	private final JavaMailSender mailSender;
+	private final TransactionTemplate tx;
+
+	private final Timer batchTimer;
+	private final DistributionSummary batchSizes;
+	private final Counter sentCounter;
+	private final Counter retriedCounter;
+	private final Counter failedCounter;
+	private final Counter digestCounter;
+
+	@Value("${app.mail.from}")
+	private String from;
+
+	// parsed once instead of on every message
+	private InternetAddress fromAddress;
+
+	@Value("${mail.outbox.batch-size:50}")
+	private int batchSize;
+
+	@Value("${mail.outbox.lease-seconds:300}")
+	private long leaseSeconds;
+
+	@Value("${mail.outbox.max-attempts:8}")
+	private int maxAttempts;
+
+	@Value("${mail.outbox.backoff-seconds:30}")
+	private long backoffSeconds;
+
+	@Value("${mail.outbox.max-backoff-seconds:3600}")
+	private long maxBackoffSeconds;
+
+	@Value("${mail.outbox.retention-days:14}")
+	private long retentionDays;
+
+	@Value("${mail.outbox.purge-batch-size:1000}")
+	private int purgeBatchSize;
+
+	public EmailOutboxDispatcher(EmailOutboxRepository outboxRepo, JavaMailSender mailSender,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.outboxRepo = outboxRepo;
+		this.mailSender = mailSender;
+		this.tx = new TransactionTemplate(transactionManager);
+
+		this.batchTimer = Timer.builder("mail.outbox.batch.duration")
+				.description("Time to send one outbox batch over SMTP").register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("mail.outbox.batch.size")
+				.description("Emails per outbox batch").register(meterRegistry);
+		this.sentCounter = Counter.builder("mail.outbox.sent").description("Emails delivered")
+				.register(meterRegistry);
+		this.retriedCounter = Counter.builder("mail.outbox.failed").tag("outcome", "retry")
+				.description("Email send failures").register(meterRegistry);
+		this.failedCounter = Counter.builder("mail.outbox.failed").tag("outcome", "gave_up")
+				.description("Email send failures").register(meterRegistry);
+		this.digestCounter = Counter.builder("mail.outbox.digests")
+				.description("Digest emails sent in place of several notifications").register(meterRegistry);
+	}
+
+	@PostConstruct
+	void init() throws AddressException {
+		fromAddress = new InternetAddress(from);
+	}
+
+	@Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+	public void dispatch() {
+		int claimed;
+		do {
+			List<EmailOutbox> batch = tx.execute(status -> claim());
+			if (!batch.isEmpty()) {
+				batchTimer.record(() -> sendBatch(batch));
+			}
+			claimed = batch.size();
+		} while (claimed >= batchSize);
+	}
+
+	@Scheduled(cron = "${mail.outbox.purge-cron:0 30 3 * * *}")
+	public void purgeSent() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+		int purged = 0;
+		int deleted;
+		do {
+			deleted = tx.execute(status -> outboxRepo.deleteSentBefore(cutoff, purgeBatchSize));
+			purged += deleted;
+		} while (deleted >= purgeBatchSize);
+
+		if (purged > 0) {
+			log.info("Purged {} sent emails older than {} days", purged, retentionDays);
+		}
+	}
+
+	// the whole batch goes through one mailSender.send(MimeMessage...) call, which
+	// opens a single SMTP connection for all of it. per-message failures come back
+	// in MailSendException.getFailedMessages(); the rest of the batch was delivered.
+	private void sendBatch(List<EmailOutbox> batch) {
+		Map<MimeMessage, List<EmailOutbox>> messages = new IdentityHashMap<>();
+		Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+
+		for (List<EmailOutbox> delivery : deliveries(batch)) {
+			try {
+				messages.put(toMessage(delivery), delivery);
+			} catch (Exception e) {
+				delivery.forEach(email -> failures.put(email, e));
+			}
+		}
+
+		if (!messages.isEmpty()) {
+			try {
+				mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+			} catch (MailSendException e) {
+				e.getFailedMessages().forEach((message, cause) -> {
+					List<EmailOutbox> delivery = messages.get(message);
+					if (delivery != null) {
+						delivery.forEach(email -> failures.put(email, cause));
+					}
+				});
+				if (e.getFailedMessages().isEmpty()) {
+					messages.values().forEach(delivery -> delivery.forEach(email -> failures.put(email, e)));
+				}
+			} catch (MailException e) {
+				// authentication or configuration problem, nothing was sent
+				messages.values().forEach(delivery -> delivery.forEach(email -> failures.put(email, e)));
+			}
+		}
+
+		List<Long> sent = messages.values().stream().flatMap(List::stream)
+				.filter(email -> !failures.containsKey(email)).map(EmailOutbox::getId).toList();
+
+		tx.executeWithoutResult(status -> {
+			if (!sent.isEmpty()) {
+				outboxRepo.markSent(sent, LocalDateTime.now());
+			}
+			failures.forEach(this::recordFailure);
+		});
+
+		sentCounter.increment(sent.size());
+		batchSizes.record(batch.size());
+		digestCounter.increment(messages.values().stream().filter(delivery -> delivery.size() > 1).count());
+	}
+
+	// one delivery per outbox row, except digest rows, which are grouped per recipient
+	private List<List<EmailOutbox>> deliveries(List<EmailOutbox> batch) {
+		List<List<EmailOutbox>> deliveries = new ArrayList<>();
+		Map<String, List<EmailOutbox>> digests = new LinkedHashMap<>();
+
+		for (EmailOutbox email : batch) {
+			if (email.isDigest()) {
+				digests.computeIfAbsent(email.getRecipient(), recipient -> new ArrayList<>()).add(email);
+			} else {
+				deliveries.add(List.of(email));
+			}
+		}
+		deliveries.addAll(digests.values());
+
+		return deliveries;
+	}
+
+	private List<EmailOutbox> claim() {
+		LocalDateTime now = LocalDateTime.now();
+		List<EmailOutbox> claimed = new ArrayList<>(outboxRepo.lockDue(now, batchSize));
+
+		// a due digest row takes every other pending digest row of its recipient with it
+		Set<String> digestRecipients = claimed.stream().filter(EmailOutbox::isDigest).map(EmailOutbox::getRecipient)
+				.collect(Collectors.toSet());
+		if (!digestRecipients.isEmpty()) {
+			claimed.addAll(outboxRepo.lockPendingDigests(digestRecipients, now));
+		}
+
+		for (EmailOutbox email : claimed) {
+			email.setAttempts(email.getAttempts() + 1);
+			email.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+		}
+		return claimed;
+	}
+
+	private MimeMessage toMessage(List<EmailOutbox> delivery) throws MessagingException {
+		EmailOutbox first = delivery.get(0);
+		String subject = first.getSubject();
+		String body = first.getBody();
+
+		if (delivery.size() > 1) {
+			subject = DIGEST_SUBJECT.formatted(delivery.size());
+			body = delivery.stream().map(EmailOutbox::getBody)
+					.collect(Collectors.joining(DIGEST_SEPARATOR, DIGEST_HEADER.formatted(delivery.size()), ""));
+		}
+
+		// a single text/html part; the bodies have no attachments or inline images,
+		// so the multipart tree MimeMessageHelper builds is not needed
+		MimeMessage message = mailSender.createMimeMessage();
+		message.setFrom(fromAddress);
+		message.setRecipient(Message.RecipientType.TO, new InternetAddress(first.getRecipient()));
+		message.setSubject(subject, "UTF-8");
+		message.setText(body, "UTF-8", first.isHtml() ? "html" : "plain");
+		return message;
+	}
+
+	private void recordFailure(EmailOutbox email, Exception e) {
+		String error = String.valueOf(e.getMessage());
+		if (error.length() > 500) {
+			error = error.substring(0, 500);
+		}
+
+		if (email.getAttempts() >= maxAttempts) {
+			log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(),
+					email.getAttempts(), error);
+			outboxRepo.recordFailure(email.getId(), EmailOutboxStatus.FAILED, email.getNextAttemptAt(), error);
+			failedCounter.increment();
+			return;
+		}
+
+		// exponential backoff: backoff, 2x backoff, 4x backoff ... capped
+		long delay = Math.min(backoffSeconds << Math.min(email.getAttempts() - 1, 20), maxBackoffSeconds);
+		log.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}", email.getId(), email.getRecipient(),
+				email.getAttempts(), delay, error);
+		outboxRepo.recordFailure(email.getId(), EmailOutboxStatus.PENDING, LocalDateTime.now().plusSeconds(delay),
+				error);
+		retriedCounter.increment();
+	}
+}
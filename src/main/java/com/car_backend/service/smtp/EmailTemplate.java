@@ -0,0 +1,92 @@
+package com.car_backend.service.smtp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An email body parsed once into literal text and {{placeholder}} slots.
+ * Rendering only appends the literals and the HTML-escaped values, so nothing
+ * is re-scanned or re-formatted per message.
+ */
+public final class EmailTemplate {
+
+	private static final String OPEN = "{{";
+	private static final String CLOSE = "}}";
+
+	private final String subject;
+	// literals.length == placeholders.length + 1
+	private final String[] literals;
+	private final String[] placeholders;
+	private final int literalLength;
+
+	private EmailTemplate(String subject, String[] literals, String[] placeholders) {
+		this.subject = subject;
+		this.literals = literals;
+		this.placeholders = placeholders;
+
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalLength = length;
+	}
+
+	public static EmailTemplate compile(String subject, String source) {
+		List<String> literals = new ArrayList<>();
+		List<String> placeholders = new ArrayList<>();
+
+		int from = 0;
+		int open;
+		while ((open = source.indexOf(OPEN, from)) >= 0) {
+			int close = source.indexOf(CLOSE, open);
+			if (close < 0) {
+				throw new IllegalArgumentException("Unclosed placeholder at " + open + " in template: " + subject);
+			}
+			literals.add(source.substring(from, open));
+			placeholders.add(source.substring(open + OPEN.length(), close).trim());
+			from = close + CLOSE.length();
+		}
+		literals.add(source.substring(from));
+
+		return new EmailTemplate(subject, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	/**
+	 * Render the body; every placeholder must have an entry in values (null
+	 * values render as "null", as String.formatted did)
+	 */
+	public String render(Map<String, ?> values) {
+		// sized for the literals plus a typical value per slot, so the buffer rarely grows
+		StringBuilder out = new StringBuilder(literalLength + placeholders.length * 32);
+
+		for (int i = 0; i < placeholders.length; i++) {
+			out.append(literals[i]);
+			if (!values.containsKey(placeholders[i])) {
+				throw new IllegalArgumentException("No value for {{" + placeholders[i] + "}} in: " + subject);
+			}
+			appendEscaped(out, String.valueOf(values.get(placeholders[i])));
+		}
+		out.append(literals[placeholders.length]);
+
+		return out.toString();
+	}
+
+	private static void appendEscaped(StringBuilder out, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '&' -> out.append("&amp;");
+			case '<' -> out.append("&lt;");
+			case '>' -> out.append("&gt;");
+			case '"' -> out.append("&quot;");
+			case '\'' -> out.append("&#39;");
+			default -> out.append(c);
+			}
+		}
+	}
+}
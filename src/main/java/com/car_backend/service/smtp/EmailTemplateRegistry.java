@@ -0,0 +1,187 @@
+package com.car_backend.service.smtp;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Notification templates, compiled once at startup
+ */
+@Component
+public class EmailTemplateRegistry {
+
+	public enum Template {
+		WELCOME(false), APPOINTMENT_CREATED(true), APPOINTMENT_CANCELLED(true), APPOINTMENT_APPROVED(true);
+
+		// whether several of these to one recipient may be merged into a digest
+		private final boolean digestible;
+
+		Template(boolean digestible) {
+			this.digestible = digestible;
+		}
+
+		public boolean isDigestible() {
+			return digestible;
+		}
+	}
+
+	private final Map<Template, EmailTemplate> templates = new EnumMap<>(Template.class);
+
+	public EmailTemplateRegistry() {
+		templates.put(Template.WELCOME, EmailTemplate.compile("Welcome to Auto Serve!", WELCOME_BODY));
+		templates.put(Template.APPOINTMENT_CREATED, EmailTemplate.compile("Auto Serve -Appointment Created – Awaiting Confirmation", APPOINTMENT_CREATED_BODY));
+		templates.put(Template.APPOINTMENT_CANCELLED, EmailTemplate.compile("Auto Serve -Appointment Cancellation Approved", APPOINTMENT_CANCELLED_BODY));
+		templates.put(Template.APPOINTMENT_APPROVED, EmailTemplate.compile("Auto Serve -Appointment Approved", APPOINTMENT_APPROVED_BODY));
+	}
+
+	public EmailTemplate get(Template template) {
+		return templates.get(template);
+	}
+
+	private static final String WELCOME_BODY = """
+						    <div style="font-family: Arial, sans-serif; line-height: 1.6;">
+						        <h2 style="color:#2c3e50;">Auto Serve</h2>
+
+								<p>Registration Successful... </p>
+						        <p>Hello <b>{{userName}}</b>,</p>
+
+						        <p>Welcome to <b>Auto Serve</b>. We're happy to have you!</p>
+						        <p><b>Role:</b> {{role}}</p>
+
+						        <br>
+						        <p>Regards,<br>
+						        <b>Auto Serve Team</b></p>
+
+						        <hr>
+						        <small style="color:gray;">This is an automated email. Please do not reply.</small>
+						    </div>
+						""";
+
+	private static final String APPOINTMENT_CREATED_BODY = """
+						    <div style="font-family: Arial, sans-serif; background-color:#f9f9f9; padding:20px;">
+						      <div style="max-width:600px; margin:auto; background:white; padding:20px; border-radius:8px; box-shadow:0 0 10px rgba(0,0,0,0.05);">
+
+						          <h2 style="color:#2c3e50;">Auto Serve</h2>
+						          <hr>
+
+						          <p>Hello <b>{{customerName}}</b>,</p>
+
+						          <p>We have received your appointment request. Your appointment is currently <b style="color:#e67e22;">{{status}}</b>.</p>
+
+						          <p>Here are the details you submitted:</p>
+
+						          <table style="width:100%; border-collapse: collapse;">
+						              <tr>
+						                  <td style="padding:8px;"><b>Problem Description</b></td>
+						                  <td style="padding:8px;">{{problemDescription}}</td>
+						              </tr>
+						              <tr>
+						                  <td style="padding:8px;"><b>Requested Date</b></td>
+						                  <td style="padding:8px;">{{requestDate}}</td>
+						              </tr>
+						          </table>
+
+						          <br>
+						          <p>Our team will review your request and notify you once the appointment is confirmed.</p>
+
+						          <p>Regards,<br>
+						          <b>Auto Serve Team</b></p>
+
+						          <hr>
+						          <small style="color:gray;">This is an automated email. Please do not reply.</small>
+						      </div>
+						  </div>
+						""";
+
+	private static final String APPOINTMENT_CANCELLED_BODY = """
+						    <div style="font-family: Arial, sans-serif; background-color:#f9f9f9; padding:20px;">
+						      <div style="max-width:600px; margin:auto; background:white; padding:20px; border-radius:8px; box-shadow:0 0 10px rgba(0,0,0,0.05);">
+									
+								<div style="position: absolute; top: 15px; right: 15px;
+						              width: fit-content;
+						              background: rgba(0,0,0,0.75); color: white;
+						              padding: 6px 12px; border-radius: 6px;
+						              font-family: system-ui, -apple-system, sans-serif;
+						              font-size: 14px; box-shadow: 0 2px 8px rgba(0,0,0,0.35);">
+						      Appointment Id: {{appointmentId}}
+						  </div>
+						          <h2 style="color:#2c3e50;">Auto Serve</h2>
+						          <hr>
+
+						          <p>Hello <b>{{customerName}}</b>,</p>
+						          <p>Your request to cancel the appointment has been accepted.</p>
+
+						          <table style="width:100%; border-collapse: collapse;">
+						              <tr>
+						                  <td style="padding:8px;"><b>Problem Description</b></td>
+						                  <td style="padding:8px;">{{problemDescription}}</td>
+						              </tr>
+						              <tr>
+						                  <td style="padding:8px;"><b>Requested Date</b></td>
+						                  <td style="padding:8px;">{{requestDate}}</td>
+						              </tr>
+						          </table>
+
+						          <br>
+						           <p>This appointment is now officially cancelled.</p>
+
+						           <p>If you would like to book a new appointment, you can do so anytime.</p>
+
+						          <p>Regards,<br>
+						          <b>Auto Serve Team</b></p>
+
+						          <hr>
+						          <small style="color:gray;">This is an automated email. Please do not reply.</small>
+						      </div>
+						  </div>
+						""";
+
+	private static final String APPOINTMENT_APPROVED_BODY = """
+						    <div style="font-family: Arial, sans-serif; background-color:#f9f9f9; padding:20px;">
+						      <div style="max-width:600px; margin:auto; background:white; padding:20px; border-radius:8px; box-shadow:0 0 10px rgba(0,0,0,0.05);">
+									
+								<div style="position: absolute; top: 15px; right: 15px;
+						              width: fit-content;
+						              background: rgba(0,0,0,0.75); color: white;
+						              padding: 6px 12px; border-radius: 6px;
+						              font-family: system-ui, -apple-system, sans-serif;
+						              font-size: 14px; box-shadow: 0 2px 8px rgba(0,0,0,0.35);">
+						      			Appointment Id: {{appointmentId}}
+						  		</div>
+						          <h2 style="color:#2c3e50;">Auto Serve</h2>
+						          <hr>
+
+						          <p>Hello <b>{{customerName}}</b>,</p>
+						           <p>Your appointment request has been 
+							       <b style="color:#27ae60;">approved</b>.</p>
+							
+							    <p>Here are the confirmed appointment details:</p>
+
+						          <table style="width:100%; border-collapse: collapse;">
+						              <tr>
+						                  <td style="padding:8px;"><b>Problem Description</b></td>
+						                  <td style="padding:8px;">{{problemDescription}}</td>
+						              </tr>
+						              <tr>
+						                  <td style="padding:8px;"><b>Requested Date</b></td>
+						                  <td style="padding:8px;">{{requestDate}}</td>
+						              </tr>
+						          </table>
+
+						         <br>
+
+								    <p>Please ensure your vehicle is available at the scheduled time.</p>
+								
+								    <p>If you need to make changes to this appointment, you can manage it anytime from the application.</p>
+								
+								    <p>Regards,<br>
+								      <b>Auto Serve Team</b>
+								    </p>
+
+						          <hr>
+						          <small style="color:gray;">This is an automated email. Please do not reply.</small>
+						      </div>
+						  </div>
+						""";
+}